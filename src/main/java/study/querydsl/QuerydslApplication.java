@@ -3,11 +3,16 @@ package study.querydsl;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
+import study.querydsl.configuration.QuerydslProperties;
+import study.querydsl.event.ChangeFeed;
+import study.querydsl.repository.support.ConfiguredJPAQueryFactory;
 
 import javax.persistence.EntityManager;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class QuerydslApplication {
 
     public static void main(String[] args) {
@@ -15,8 +20,8 @@ public class QuerydslApplication {
     }
 
     @Bean
-    JPAQueryFactory jpaQueryFactory(EntityManager em){
-        return new JPAQueryFactory(em);
+    JPAQueryFactory jpaQueryFactory(EntityManager em, QuerydslProperties properties, ChangeFeed changeFeed){
+        return new ConfiguredJPAQueryFactory(em, properties, changeFeed);
     }
 
 }
@@ -0,0 +1,38 @@
+package study.querydsl.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.id.TimeOrderedIdGenerator;
+import study.querydsl.id.TimeOrderedIdGroups;
+
+/**
+ * fileName    : IdGeneratorConfiguration
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : id-generator.node 를 하이버네이트 설정으로 넘긴다 (TimeOrderedIdGenerator 는 스프링 빈이 아니라서).
+ * 같은 DB 에 쓰는 프로세스마다 node 가 달라야 id 가 안 겹친다.
+ * 이 컨텍스트의 TimeOrderedIdGroups 도 같이 넘겨서 generator 와 MemberCsvImporter 가 같은 id 상태를 쓴다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 10:00 오후  hyechan        최초 생성
+ */
+@Configuration
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public TimeOrderedIdGroups timeOrderedIdGroups() {
+        return new TimeOrderedIdGroups();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorNode(@Value("${id-generator.node:0}") int node,
+                                                         TimeOrderedIdGroups groups) {
+        return properties -> {
+            properties.put(TimeOrderedIdGenerator.NODE_SETTING, String.valueOf(node));
+            properties.put(TimeOrderedIdGroups.GROUPS_SETTING, groups);
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.repository.ShardedMemberRepository;
+import study.querydsl.repository.support.MemberShardSchema;
+import study.querydsl.repository.support.MemberShards;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * fileName    : MemberShardConfiguration
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : member-shards.enabled=true 일 때만. 샤드 DataSource 는 빈으로 안 올려서 기본 DataSource(JPA) 와 안 섞인다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 2:00 오후  hyechan        최초 생성
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "member-shards", name = "enabled", havingValue = "true")
+public class MemberShardConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public MemberShards memberShards(MemberShardProperties properties) throws SQLException {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (MemberShardProperties.Shard shard : properties.getShards()) {
+            dataSources.add(DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build());
+        }
+        MemberShards shards = MemberShards.of(dataSources, properties.getThreads());
+        if (properties.isInitSchema()) {
+            for (MemberShards.Shard shard : shards.all()) {
+                MemberShardSchema.create(shard, shards.size());
+            }
+        }
+        return shards;
+    }
+
+    @Bean
+    public ShardedMemberRepository shardedMemberRepository(MemberShards memberShards) {
+        return new ShardedMemberRepository(memberShards);
+    }
+}
@@ -0,0 +1,37 @@
+package study.querydsl.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * fileName    : MemberShardProperties
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : member-shards.* 팀 id 기준 member/team 샤딩 (MemberShards, ShardedMemberRepository).
+ * 샤드 순서가 곧 라우팅 (floorMod(teamId, 샤드 수)) 이라 운영 중에 바꾸면 안 된다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 2:00 오후  hyechan        최초 생성
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "member-shards")
+public class MemberShardProperties {
+    private boolean enabled = false;
+    // true 면 기동할 때 샤드마다 테이블/시퀀스를 만든다 (MemberShardSchema, H2 문법)
+    private boolean initSchema = false;
+    // 샤드 조회를 동시에 돌리는 스레드 수
+    private int threads = 16;
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
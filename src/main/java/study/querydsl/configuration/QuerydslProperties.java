@@ -0,0 +1,47 @@
+package study.querydsl.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import study.querydsl.repository.support.QueryGuardAction;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * fileName    : QuerydslProperties
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : querydsl.* 설정. JPAQueryFactory 가 만드는 모든 쿼리에 공통 적용된다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 3:00 오후  hyechan        최초 생성
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "querydsl")
+public class QuerydslProperties {
+    // JDBC fetch size. null 이면 드라이버 기본값
+    private Integer fetchSize = 100;
+    // stream()/forEach 같이 커서로 읽는 조회용 fetch size
+    private int streamFetchSize = 1000;
+    // searchPageSimple 을 count(*) over() 한 방 쿼리로. DB 가 지원 안 하면 무시된다.
+    private boolean windowCount = false;
+    // 검색을 team 조인 없이 member.team_name(비정규화 컬럼)으로. 컬럼이 다 채워진 뒤에 켤 것
+    private boolean denormalizedTeamName = false;
+
+    private final Guard guard = new Guard();
+
+    /**
+     * querydsl.guard.* (GuardedJPAQuery)
+     */
+    @Getter @Setter
+    public static class Guard {
+        private boolean enabled = true;
+        private QueryGuardAction action = QueryGuardAction.LOG;
+        // fetch() 한 번에 올려도 되는 최대 행 수
+        private int maxRows = 10000;
+        // where/limit 없이 fetch() 하면 안 되는 엔티티 (simple name)
+        private Set<String> largeEntities = new HashSet<>(Set.of("Member"));
+    }
+}
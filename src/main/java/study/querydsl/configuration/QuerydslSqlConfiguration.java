@@ -0,0 +1,37 @@
+package study.querydsl.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.repository.support.SqlDialect;
+import study.querydsl.repository.support.SqlQueryFactory;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * fileName    : QuerydslSqlConfiguration
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : JPASQLQuery(네이티브) 쪽 설정. 기동할 때 DB 종류를 한 번 보고 템플릿을 고른다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 5:00 오후  hyechan        최초 생성
+ */
+@Configuration
+public class QuerydslSqlConfiguration {
+
+    @Bean
+    public SqlDialect sqlDialect(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return SqlDialect.of(connection.getMetaData());
+        }
+    }
+
+    @Bean
+    public SqlQueryFactory sqlQueryFactory(EntityManager em, SqlDialect sqlDialect) {
+        return new SqlQueryFactory(em, sqlDialect);
+    }
+}
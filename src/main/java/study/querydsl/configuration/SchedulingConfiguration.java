@@ -0,0 +1,19 @@
+package study.querydsl.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * fileName    : SchedulingConfiguration
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 스냅샷 저장 같은 주기 작업용
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오전  hyechan        최초 생성
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
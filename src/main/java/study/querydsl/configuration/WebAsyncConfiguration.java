@@ -0,0 +1,52 @@
+package study.querydsl.configuration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.querydsl.web.QueryDeadlineCallableInterceptor;
+import study.querydsl.web.RequestDeadlineProperties;
+
+/**
+ * fileName    : WebAsyncConfiguration
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : Callable 핸들러에 요청 마감을 옮기고 끊기면 쿼리를 cancel 하는 인터셉터 등록.
+ * Callable 은 Boot 기본 applicationTaskExecutor(8 스레드, 무제한 큐) 대신 커넥션 풀 크기에 맞춘 전용 풀에서 돌린다.
+ * 풀보다 스레드가 많아 봐야 커넥션을 기다릴 뿐이고, 큐가 넘치면 쌓아두지 않고 바로 503 을 준다 (ApiExceptionHandler).
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오후  hyechan        최초 생성
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebAsyncConfiguration implements WebMvcConfigurer {
+
+    private final RequestDeadlineProperties properties;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcCallableExecutor() {
+        int threads = properties.getAsyncThreads() > 0 ? properties.getAsyncThreads() : connectionPoolSize;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-callable-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(properties.getAsyncQueueCapacity());
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcCallableExecutor());
+        // 요청 마감이 헤더로 늘어날 수 있는 최대치까지는 기다린다. 그 전에 끝나지 않으면 인터셉터가 쿼리를 cancel
+        configurer.setDefaultTimeout(properties.getMaxTimeoutMs());
+        configurer.registerCallableInterceptors(new QueryDeadlineCallableInterceptor());
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.controller;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import study.querydsl.readmodel.InvalidAgeBucketsException;
+import study.querydsl.repository.support.InvalidSortException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * fileName    : ApiExceptionHandler
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description :
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 7:00 오후  hyechan        최초 생성
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler({InvalidSortException.class, InvalidAgeBucketsException.class})
+    public Map<String, String> invalidParameter(IllegalArgumentException e) {
+        return Collections.singletonMap("message", e.getMessage());
+    }
+
+    //요청 마감(RequestDeadlineFilter) 안에 쿼리가 안 끝남
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler({QueryTimeoutException.class, javax.persistence.QueryTimeoutException.class})
+    public Map<String, String> queryTimeout(RuntimeException e) {
+        return Collections.singletonMap("message", "query timeout");
+    }
+
+    //Callable 전용 풀(WebAsyncConfiguration)의 큐가 넘침
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(RejectedExecutionException.class)
+    public Map<String, String> overloaded(RejectedExecutionException e) {
+        return Collections.singletonMap("message", "server busy");
+    }
+
+    //async 타임아웃 (request-deadline.max-timeout-ms). 쿼리는 인터셉터가 이미 cancel 했다
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public Map<String, String> asyncTimeout(AsyncRequestTimeoutException e) {
+        return Collections.singletonMap("message", "query timeout");
+    }
+}
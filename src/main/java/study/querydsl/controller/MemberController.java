@@ -2,15 +2,32 @@ package study.querydsl.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.AgeBucketDto;
+import study.querydsl.dto.MemberAutocompleteDto;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.readmodel.AgeBuckets;
+import study.querydsl.readmodel.AgeHistogram;
+import study.querydsl.readmodel.MemberAutocompleteIndex;
+import study.querydsl.readmodel.MemberReadModel;
 import study.querydsl.repository.MemberJpaRepository;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.service.MemberActivityCounter;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * fileName    : MemberController
@@ -28,15 +45,61 @@ public class MemberController {
 
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final MemberReadModel memberReadModel;
+    private final MemberAutocompleteIndex memberAutocompleteIndex;
+    private final AgeHistogram ageHistogram;
+    private final MemberActivityCounter memberActivityCounter;
 
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 20;
+
+    //DB 를 오래 쓰는 검색은 Callable 로. 클라이언트가 끊으면 돌던 쿼리를 cancel 한다 (QueryDeadlineCallableInterceptor)
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-        return memberJpaRepository.search(condition);
+    public Callable<List<MemberTeamDto>> searchMemberV1(MemberSearchCondition condition) {
+        return () -> memberJpaRepository.search(condition);
+    }
+
+    //읽기 모델(스냅샷)이 올라와 있으면 DB 안 감. 아직이면 v1 이랑 같다.
+    @GetMapping("/v1/members/read-model")
+    public List<MemberTeamDto> searchMemberReadModel(MemberSearchCondition condition) {
+        List<MemberTeamDto> result = memberReadModel.search(condition);
+        return result != null ? result : memberJpaRepository.search(condition);
     }
 
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable){
-        return memberRepository.searchPageSimple(condition, pageable);
+    public Callable<Page<MemberTeamDto>> searchMemberV2(MemberSearchCondition condition, Pageable pageable){
+        return () -> memberRepository.searchPageSimple(condition, pageable);
+    }
+
+    //인덱스가 아직 적재 중이면 username_normalized like 'q%' 로 DB 에서. 순서도 인덱스와 같게 username_normalized, member_id
+    @GetMapping("/members/autocomplete")
+    public List<MemberAutocompleteDto> autocomplete(@RequestParam("q") String q,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_AUTOCOMPLETE_LIMIT));
+        if (!StringUtils.hasText(q)) {
+            return Collections.emptyList();
+        }
+        if (memberAutocompleteIndex.isReady()) {
+            return memberAutocompleteIndex.complete(q, size);
+        }
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix(q);
+        return memberRepository.searchPageSimple(condition, PageRequest.of(0, size, Sort.by("usernameNormalized")))
+                .map(dto -> new MemberAutocompleteDto(dto.getMemberId(), dto.getUsername(), dto.getTeamName()))
+                .getContent();
+    }
+
+    // ex) /members/age-histogram?edges=0,21,31&teamId=1 -> 0~20, 21~30, 31~
+    @GetMapping("/members/age-histogram")
+    public List<AgeBucketDto> ageHistogram(@RequestParam(required = false) List<Integer> edges,
+                                           @RequestParam(required = false) Long teamId) {
+        return ageHistogram.histogram(AgeBuckets.of(edges), teamId);
+    }
+
+    //메모리에만 더하고 끝. DB 반영은 MemberActivityCounter flush 때
+    @PostMapping("/members/{memberId}/activity")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void recordActivity(@PathVariable Long memberId) {
+        memberActivityCounter.increment(memberId);
     }
 
 //    @GetMapping("/v3/members") complex는 없다.
@@ -0,0 +1,49 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.dto.TeamTopMembersDto;
+import study.querydsl.readmodel.TeamStatsReadModel;
+import study.querydsl.readmodel.TeamTopMembers;
+
+import java.util.List;
+
+/**
+ * fileName    : TeamController
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description :
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:30 오후  hyechan        최초 생성
+ */
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamStatsReadModel teamStatsReadModel;
+    private final TeamTopMembers teamTopMembers;
+
+    @GetMapping("/teams/stats")
+    public List<TeamStatsDto> teamStats() {
+        return teamStatsReadModel.findAll();
+    }
+
+    @GetMapping("/teams/{teamId}/stats")
+    public ResponseEntity<TeamStatsDto> teamStats(@PathVariable Long teamId) {
+        TeamStatsDto stats = teamStatsReadModel.find(teamId);
+        return stats != null ? ResponseEntity.ok(stats) : ResponseEntity.notFound().build();
+    }
+
+    //k 는 team-top-members.capacity 까지
+    @GetMapping("/teams/{teamId}/top-members")
+    public TeamTopMembersDto topMembers(@PathVariable Long teamId, @RequestParam(defaultValue = "5") int k) {
+        return teamTopMembers.top(teamId, k);
+    }
+}
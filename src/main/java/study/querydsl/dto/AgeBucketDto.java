@@ -0,0 +1,21 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+/**
+ * fileName    : AgeBucketDto
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 나이 히스토그램 한 칸. toAge 는 포함, null 이면 끝까지
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 9:00 오전  hyechan        최초 생성
+ */
+@Data
+public class AgeBucketDto {
+    private final String label;
+    private final int fromAge;
+    private final Integer toAge;
+    private final long count;
+}
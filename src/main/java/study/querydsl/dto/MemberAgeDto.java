@@ -0,0 +1,23 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Data;
+
+/**
+ * fileName    : MemberAgeDto
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 팀 나이 순위 한 건
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 10:00 오전  hyechan        최초 생성
+ */
+@Data
+public class MemberAgeDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long memberId;
+    private final String username;
+    private final int age;
+}
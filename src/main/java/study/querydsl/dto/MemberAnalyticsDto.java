@@ -0,0 +1,40 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Data;
+
+/**
+ * fileName    : MemberAnalyticsDto
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 회원 + 소속 팀 기준 분석 값 (팀 평균 나이, 팀 안에서 나이 순위)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오후  hyechan        최초 생성
+ */
+@Data
+public class MemberAnalyticsDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long memberId;
+    private String username;
+    private int age;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long teamId;
+    private String teamName;
+    private Double teamAvgAge;
+    // 팀 안에서 나이 많은 순 (동점이면 같은 순위, rank())
+    private long ageRankInTeam;
+
+    public MemberAnalyticsDto(Long memberId, String username, int age, Long teamId, String teamName,
+                              Double teamAvgAge, long ageRankInTeam) {
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.teamAvgAge = teamAvgAge;
+        this.ageRankInTeam = ageRankInTeam;
+    }
+}
@@ -0,0 +1,23 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Data;
+
+/**
+ * fileName    : MemberAutocompleteDto
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : username 자동완성 한 건
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 8:00 오후  hyechan        최초 생성
+ */
+@Data
+public class MemberAutocompleteDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long memberId;
+    private final String username;
+    private final String teamName;
+}
@@ -19,5 +19,9 @@ public class MemberSearchCondition {
     private String teamName;
     private Integer ageGoe; //Integer쓰는 이유? null일 수 있어서
     private Integer ageLoe;
+    // true 면 username 을 대소문자 무시하고 비교 (username_normalized 컬럼)
+    private Boolean usernameIgnoreCase;
+    // username 앞부분 일치. 항상 대소문자 무시
+    private String usernamePrefix;
 }
 
@@ -1,5 +1,7 @@
 package study.querydsl.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.querydsl.core.annotations.QueryProjection;
 import lombok.Data;
 
@@ -14,10 +16,12 @@ import lombok.Data;
  * 2022/03/23 5:53 오후  hyechan        최초 생성
  */
 @Data
-public class MemberTeamDto {
+public class MemberTeamDto implements MemberTeamRow {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long memberId;
     private String username;
     private int age;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long teamId;
     private String teamName;
 
@@ -0,0 +1,126 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * fileName    : MemberTeamProjection
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : member + team 조회 전용 프로젝션.
+ * QMemberTeamDto(ConstructorExpression) 는 행마다 리플렉션으로 생성자를 부른다.
+ * dto()  : 생성자를 직접 호출
+ * row()  : MutableMemberTeamRow 하나를 계속 재사용 (forEach 처럼 한 행씩 소비할 때만)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 1:00 오후  hyechan        최초 생성
+ */
+public final class MemberTeamProjection {
+
+    private static final List<Expression<?>> JOINED_ARGS = Collections.unmodifiableList(Arrays.asList(
+            member.id,
+            member.username,
+            member.age,
+            team.id,
+            team.name
+    ));
+
+    // team 조인 없이 member 테이블만 (team_id FK, 비정규화된 team_name)
+    private static final List<Expression<?>> SINGLE_TABLE_ARGS = Collections.unmodifiableList(Arrays.asList(
+            member.id,
+            member.username,
+            member.age,
+            member.team.id,
+            member.teamName
+    ));
+
+    private MemberTeamProjection() {
+    }
+
+    public static FactoryExpressionBase<MemberTeamDto> dto() {
+        return dto(false);
+    }
+
+    /**
+     * @param singleTable true 면 member.teamName 을 쓴다. leftJoin(member.team, team) 이 필요 없다.
+     */
+    public static FactoryExpressionBase<MemberTeamDto> dto(boolean singleTable) {
+        return singleTable ? DtoExpression.SINGLE_TABLE : DtoExpression.JOINED;
+    }
+
+    public static FactoryExpressionBase<MemberTeamRow> row() {
+        return row(false);
+    }
+
+    /**
+     * 쿼리마다 새로 만들어야 한다. 같은 row 객체를 덮어쓰기 때문에 스레드끼리 공유하면 안 된다.
+     */
+    public static FactoryExpressionBase<MemberTeamRow> row(boolean singleTable) {
+        return new RowExpression(singleTable ? SINGLE_TABLE_ARGS : JOINED_ARGS, new MutableMemberTeamRow());
+    }
+
+    private static final class DtoExpression extends FactoryExpressionBase<MemberTeamDto> {
+
+        private static final DtoExpression JOINED = new DtoExpression(JOINED_ARGS);
+        private static final DtoExpression SINGLE_TABLE = new DtoExpression(SINGLE_TABLE_ARGS);
+
+        private final List<Expression<?>> args;
+
+        private DtoExpression(List<Expression<?>> args) {
+            super(MemberTeamDto.class);
+            this.args = args;
+        }
+
+        @Override
+        public List<Expression<?>> getArgs() {
+            return args;
+        }
+
+        @Override
+        public MemberTeamDto newInstance(Object... args) {
+            return new MemberTeamDto((Long) args[0], (String) args[1], (Integer) args[2], (Long) args[3], (String) args[4]);
+        }
+
+        @Override
+        public <R, C> R accept(Visitor<R, C> v, C context) {
+            return v.visit(this, context);
+        }
+    }
+
+    private static final class RowExpression extends FactoryExpressionBase<MemberTeamRow> {
+
+        private final List<Expression<?>> args;
+        private final MutableMemberTeamRow row;
+
+        private RowExpression(List<Expression<?>> args, MutableMemberTeamRow row) {
+            super(MemberTeamRow.class);
+            this.args = args;
+            this.row = row;
+        }
+
+        @Override
+        public List<Expression<?>> getArgs() {
+            return args;
+        }
+
+        @Override
+        public MemberTeamRow newInstance(Object... args) {
+            row.set((Long) args[0], (String) args[1], (Integer) args[2], (Long) args[3], (String) args[4]);
+            return row;
+        }
+
+        @Override
+        public <R, C> R accept(Visitor<R, C> v, C context) {
+            return v.visit(this, context);
+        }
+    }
+}
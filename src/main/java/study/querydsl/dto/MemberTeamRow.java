@@ -0,0 +1,20 @@
+package study.querydsl.dto;
+
+/**
+ * fileName    : MemberTeamRow
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : MemberTeamDto 읽기 전용 뷰.
+ * 힙 DTO(MemberTeamDto)와 off-heap flyweight 뷰가 같이 구현한다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 10:00 오전  hyechan        최초 생성
+ */
+public interface MemberTeamRow {
+    Long getMemberId();
+    String getUsername();
+    int getAge();
+    Long getTeamId();
+    String getTeamName();
+}
@@ -0,0 +1,36 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * fileName    : MutableMemberTeamRow
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 행마다 값을 덮어쓰며 재사용하는 MemberTeamRow. 들고 있을 거면 복사해서 써야 함.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 1:00 오후  hyechan        최초 생성
+ */
+@Getter
+@ToString
+public class MutableMemberTeamRow implements MemberTeamRow {
+    private Long memberId;
+    private String username;
+    private int age;
+    private Long teamId;
+    private String teamName;
+
+    void set(Long memberId, String username, int age, Long teamId, String teamName) {
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.teamName = teamName;
+    }
+
+    public MemberTeamDto toDto() {
+        return new MemberTeamDto(memberId, username, age, teamId, teamName);
+    }
+}
@@ -0,0 +1,37 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Data;
+
+/**
+ * fileName    : TeamStatsDto
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 팀별 회원 수, 나이 합/평균/최소/최대. 회원이 없는 팀은 안 나온다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:30 오후  hyechan        최초 생성
+ */
+@Data
+public class TeamStatsDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long teamId;
+    private String teamName;
+    private long memberCount;
+    private long ageSum;
+    private Double avgAge;
+    private Integer minAge;
+    private Integer maxAge;
+
+    public TeamStatsDto(Long teamId, String teamName, long memberCount, long ageSum, Integer minAge, Integer maxAge) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberCount = memberCount;
+        this.ageSum = ageSum;
+        this.avgAge = memberCount > 0 ? (double) ageSum / memberCount : null;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+}
@@ -0,0 +1,25 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * fileName    : TeamTopMembersDto
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 팀에서 나이 많은/적은 순 상위 k 명. 나이가 같으면 member_id 순
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 10:00 오전  hyechan        최초 생성
+ */
+@Data
+public class TeamTopMembersDto {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long teamId;
+    private final List<MemberAgeDto> oldest;
+    private final List<MemberAgeDto> youngest;
+}
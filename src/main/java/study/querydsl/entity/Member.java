@@ -1,25 +1,63 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import study.querydsl.id.TimeOrderedIdGenerator;
 
 import javax.persistence.*;
+import java.util.List;
+import java.util.Locale;
 
 @Entity
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
+@Table(indexes = {
+        //정렬 키(MemberSort) + member_id 타이브레이커까지 인덱스로 커버
+        @Index(name = "idx_member_username", columnList = "username, member_id"),
+        @Index(name = "idx_member_age", columnList = "age, member_id"),
+        @Index(name = "idx_member_team_name", columnList = "team_name, member_id"),
+        @Index(name = "idx_member_username_normalized", columnList = "username_normalized, member_id"),
+        //팀별 나이 상위 k 명 (TeamTopMembers)
+        @Index(name = "idx_member_team_age", columnList = "team_id, age, member_id")
+})
 public class Member {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(generator = "member_id")
+    @GenericGenerator(name = "member_id", strategy = TimeOrderedIdGenerator.STRATEGY,
+            parameters = @Parameter(name = TimeOrderedIdGenerator.GROUP_PARAMETER, value = "member"))
     @Column(name = "member_id")
     private Long id;
     private String username;
     private int age;
 
+    // 바꿀 때는 changeTeam 으로 (teamName 까지 같이 맞춘다)
+    @Setter(AccessLevel.NONE)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
 
+    // team.name 비정규화. 검색할 때 team 조인 없이 member 한 테이블로 끝내려고.
+    // changeTeam, TeamService.rename 에서 맞춰주고, 어긋난 건 TeamNameConsistencyChecker 가 고친다.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "team_name")
+    private String teamName;
+
+    // 대소문자 무시 검색용 (trim + 소문자). lower(username) 로 검색하면 인덱스를 못 탄다.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "username_normalized")
+    private String usernameNormalized;
+
+    // 활동 횟수. MemberActivityCounter 가 모아서 activity_count = activity_count + ? 로만 올린다.
+    // 엔티티로는 안 쓴다 (dirty checking 이 읽었던 값으로 덮어쓰면 그 사이 더한 값이 사라진다).
+    @Setter(AccessLevel.NONE)
+    @Column(name = "activity_count", insertable = false, updatable = false,
+            columnDefinition = "bigint default 0 not null")
+    private long activityCount;
+
     public Member(String username) {
         this.username = username;
     }
@@ -39,6 +77,26 @@ public class Member {
 
     public void changeTeam(Team team){
         this.team = team;
-        team.getMembers().add(this);
+        this.teamName = team.getName();
+        // team.members 는 향상 여부와 상관없이 여기서 맞춘다 (build.gradle 에서 association management 는 끔).
+        // 아직 안 읽은 lazy 컬렉션은 contains 만으로 팀 회원 전체를 select 한다. 그대로 두고 flush 뒤에 읽으면 DB 에서 같이 온다
+        List<Member> members = team.getMembers();
+        if (Hibernate.isInitialized(members) && !members.contains(this)) {
+            members.add(this);
+        }
+    }
+
+    // StatelessSession 은 JPA 콜백을 안 불러서 MemberBatchRepository 가 직접 부른다
+    @PrePersist
+    @PreUpdate
+    public void normalizeUsername() {
+        this.usernameNormalized = normalizeUsername(username);
+    }
+
+    /**
+     * username_normalized 에 들어가는 값. 검색 파라미터도 같은 규칙으로 바꿔서 비교한다.
+     */
+    public static String normalizeUsername(String username) {
+        return username != null ? username.trim().toLowerCase(Locale.ROOT) : null;
     }
 }
@@ -3,6 +3,9 @@ package study.querydsl.entity;
 import lombok.*;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import study.querydsl.id.TimeOrderedIdGenerator;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -12,9 +15,14 @@ import java.util.List;
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+//팀 이름은 하나씩 (MemberCsvImporter 가 이름으로 팀을 찾거나 만든다). 이름 조회/정렬 인덱스도 겸한다
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_team_name", columnNames = "name"))
 public class Team {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(generator = "team_id")
+    @GenericGenerator(name = "team_id", strategy = TimeOrderedIdGenerator.STRATEGY,
+            parameters = @Parameter(name = TimeOrderedIdGenerator.GROUP_PARAMETER, value = "team"))
     private Long id;
     private String name;
 
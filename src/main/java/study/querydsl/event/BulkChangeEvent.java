@@ -0,0 +1,63 @@
+package study.querydsl.event;
+
+import com.querydsl.core.types.Predicate;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * fileName    : BulkChangeEvent
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : JPQL 벌크 update/delete 한 번. 어떤 행이 바뀌었는지는 모르고 조건(where)과 바뀐 속성만 안다.
+ * 받는 쪽은 조건을 보고 범위만 다시 읽거나, 모르겠으면 통째로 다시 만든다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+@Getter
+@ToString
+public final class BulkChangeEvent implements ChangeEvent {
+
+    public enum Type { UPDATE, DELETE }
+
+    private final Type type;
+    private final Class<?> entityType;
+    // where 조건. 없으면(전체) null
+    private final Predicate where;
+    // update 의 set 대상 속성 (member.team.id 면 team). delete 면 비어 있다
+    private final Set<String> changedProperties;
+    private final long affectedRows;
+
+    private BulkChangeEvent(Type type, Class<?> entityType, Predicate where, Set<String> changedProperties,
+                            long affectedRows) {
+        this.type = type;
+        this.entityType = entityType;
+        this.where = where;
+        this.changedProperties = Collections.unmodifiableSet(changedProperties);
+        this.affectedRows = affectedRows;
+    }
+
+    public static BulkChangeEvent update(Class<?> entityType, Predicate where, Set<String> changedProperties,
+                                         long affectedRows) {
+        return new BulkChangeEvent(Type.UPDATE, entityType, where, changedProperties, affectedRows);
+    }
+
+    public static BulkChangeEvent delete(Class<?> entityType, Predicate where, long affectedRows) {
+        return new BulkChangeEvent(Type.DELETE, entityType, where, Collections.emptySet(), affectedRows);
+    }
+
+    public boolean isFor(Class<?> type) {
+        return type.equals(entityType);
+    }
+
+    /**
+     * 이 속성 값이 바뀌었을 수 있나. delete 는 모든 속성
+     */
+    public boolean touches(String property) {
+        return type == Type.DELETE || changedProperties.contains(property);
+    }
+}
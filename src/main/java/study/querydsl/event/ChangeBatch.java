@@ -0,0 +1,35 @@
+package study.querydsl.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * fileName    : ChangeBatch
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 트랜잭션 하나에서 커밋된 변경들. flush 된 순서 그대로.
+ * sequence 는 ChangeFeed 가 매기는 일련번호라 받는 쪽에서 순서/유실 확인에 쓸 수 있다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+@Getter
+@ToString
+public final class ChangeBatch {
+
+    private final long sequence;
+    private final List<ChangeEvent> events;
+
+    public ChangeBatch(long sequence, List<ChangeEvent> events) {
+        this.sequence = sequence;
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    public int size() {
+        return events.size();
+    }
+}
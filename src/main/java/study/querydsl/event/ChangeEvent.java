@@ -0,0 +1,14 @@
+package study.querydsl.event;
+
+/**
+ * fileName    : ChangeEvent
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : ChangeFeed 로 나가는 변경 하나. MemberChangeEvent, TeamChangeEvent (엔티티 한 건), BulkChangeEvent (벌크 update/delete)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+public interface ChangeEvent {
+}
@@ -0,0 +1,260 @@
+package study.querydsl.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * fileName    : ChangeFeed
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : Member/Team 변경 피드. 커밋된 트랜잭션마다 ChangeBatch 하나를 ChangeFeedListener 빈들에게 넘긴다.
+ * 1. record : 트랜잭션 안에서 생긴 변경을 그 트랜잭션에 쌓는다 (EntityChangeCapture, ConfiguredJPAQueryFactory 벌크)
+ * 2. 커밋되면 afterCommit 에서 ChangeRingBuffer 에 넣고 끝. 롤백되면 버린다
+ * 3. 전달 스레드 하나가 링 버퍼에서 꺼내 리스너들을 순서대로 부른다. 커밋한 스레드는 리스너를 안 기다린다
+ * 링 버퍼가 꽉 차면 커밋한 스레드가 빈자리가 날 때까지 잠깐씩 기다린다.
+ * 리스너 안에서 커밋한 배치(전달 스레드)는 기다릴 수 없어서 deferred 에 두고, 그 전에 들어온 배치를 다 전달한 뒤에 보낸다.
+ * 기동 완료(ApplicationReadyEvent) 전에 커밋된 배치는 전달하지 않고 start 에서 버린다.
+ * 읽기 모델들이 기동 뒤에 DB 에서 새로 읽어서 이미 반영돼 있으므로, 전달하면 두 번 센다 (InitMember 데이터 등).
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+@Slf4j
+@Component
+public class ChangeFeed {
+
+    // 비어 있을 때 전달 스레드가 쉬는 최대 시간. 보통은 생산자가 unpark 로 깨운다
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final ObjectProvider<ChangeFeedListener> listeners;
+    private final ChangeRingBuffer<List<ChangeEvent>> buffer;
+
+    // 링 버퍼에 넣은 배치 수 / 리스너까지 전달한 배치 수
+    private final AtomicLong offered = new AtomicLong();
+    private volatile long delivered;
+    // ChangeBatch.sequence. 전달 스레드에서만 증가
+    private long sequence;
+    // 버퍼가 꽉 찼을 때 리스너 안에서 커밋한 배치. 전달 스레드만 쓴다
+    private final ArrayDeque<DeferredBatch> deferred = new ArrayDeque<>();
+
+    private volatile Thread dispatcher;
+    private volatile boolean running;
+
+    public ChangeFeed(ObjectProvider<ChangeFeedListener> listeners,
+                      @Value("${change-feed.buffer-size:8192}") int bufferSize) {
+        this.listeners = listeners;
+        this.buffer = new ChangeRingBuffer<>(bufferSize);
+    }
+
+    /**
+     * 트랜잭션(동기화)이 없으면 바로 한 건짜리 배치로 내보낸다
+     */
+    @SuppressWarnings("unchecked")
+    public void record(ChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(Collections.singletonList(event));
+            return;
+        }
+        List<ChangeEvent> pending = (List<ChangeEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new PendingChanges(pending));
+        }
+        pending.add(event);
+    }
+
+    /**
+     * 스프링 트랜잭션 밖에서 이미 커밋된 변경 (StatelessSession 배치 등). 배치 하나로 바로 내보낸다
+     */
+    public void recordCommitted(List<? extends ChangeEvent> events) {
+        if (!events.isEmpty()) {
+            publish(new ArrayList<>(events));
+        }
+    }
+
+    void publish(List<ChangeEvent> events) {
+        boolean warned = false;
+        while (!buffer.offer(events)) {
+            Thread current = dispatcher;
+            if (current == null) {
+                log.debug("기동 전 change feed 버퍼가 가득 참. 버림. events={}", events.size());
+                return;
+            }
+            if (Thread.currentThread() == current) {
+                // 리스너 안에서 커밋한 경우. 기다리면 자기 자신을 기다리게 되고, 바로 전달하면 버퍼에 있는 앞 배치를 앞지른다
+                deferred.add(new DeferredBatch(offered.getAndIncrement(), events));
+                return;
+            }
+            if (!warned) {
+                log.warn("change feed 버퍼가 가득 참 (capacity={}). 빈자리가 날 때까지 대기", buffer.capacity());
+                warned = true;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        offered.incrementAndGet();
+        Thread current = dispatcher;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (dispatcher != null) {
+            return;
+        }
+        // 기동 전에 커밋된 배치. 전달 스레드가 아직 없으니 여기서 꺼내도 소비자는 하나
+        long dropped = 0;
+        while (buffer.poll() != null) {
+            dropped++;
+        }
+        delivered += dropped;
+        if (dropped > 0) {
+            log.info("기동 전 변경 배치 {}개는 전달하지 않음 (읽기 모델이 기동 후 DB 에서 읽음)", dropped);
+        }
+        running = true;
+        Thread thread = new Thread(this::dispatchLoop, "change-feed");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread current = dispatcher;
+        if (current != null) {
+            LockSupport.unpark(current);
+            current.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * 지금까지 커밋된 변경이 리스너까지 다 전달될 때까지 기다린다 (테스트, 종료 전 확인용)
+     */
+    public boolean awaitDelivered(long timeoutMillis) {
+        long target = offered.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (delivered < target) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        return true;
+    }
+
+    public int backlog() {
+        return buffer.size();
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            List<ChangeEvent> events = nextDeferred();
+            if (events == null) {
+                events = buffer.poll();
+            }
+            if (events == null && !deferred.isEmpty()) {
+                // 버퍼가 비었으면 앞 배치는 다 나갔다
+                events = deferred.poll().events;
+            }
+            if (events == null) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            deliver(events);
+            delivered++;
+        }
+    }
+
+    /**
+     * 앞서 들어온 배치가 다 전달된 deferred 배치
+     */
+    private List<ChangeEvent> nextDeferred() {
+        DeferredBatch head = deferred.peek();
+        if (head == null || head.offeredBefore > delivered) {
+            return null;
+        }
+        deferred.poll();
+        return head.events;
+    }
+
+    private void deliver(List<ChangeEvent> events) {
+        ChangeBatch batch = new ChangeBatch(++sequence, events);
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onChanges(batch);
+            } catch (RuntimeException e) {
+                // 읽기 모델 하나가 실패해도 나머지는 계속
+                log.warn("변경 배치 처리 실패. listener={}, batch={}", listener.getClass().getSimpleName(), batch.getSequence(), e);
+            }
+        });
+    }
+
+    private static final class DeferredBatch {
+
+        // 이 배치보다 먼저 들어온 배치 수. delivered 가 여기까지 오면 보낸다
+        private final long offeredBefore;
+        private final List<ChangeEvent> events;
+
+        private DeferredBatch(long offeredBefore, List<ChangeEvent> events) {
+            this.offeredBefore = offeredBefore;
+            this.events = events;
+        }
+    }
+
+    /**
+     * 트랜잭션 하나에 쌓인 변경. REQUIRES_NEW 로 잠깐 멈추는 동안은 리소스를 풀어둔다
+     */
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final List<ChangeEvent> events;
+
+        private PendingChanges(List<ChangeEvent> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeFeed.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ChangeFeed.this, events);
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!events.isEmpty()) {
+                publish(new ArrayList<>(events));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeFeed.this);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package study.querydsl.event;
+
+/**
+ * fileName    : ChangeFeedListener
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 커밋된 변경을 받아서 자기 캐시/읽기 모델을 갱신하는 쪽. 빈으로 등록만 하면 ChangeFeed 가 찾아서 부른다.
+ * ChangeFeed 의 전달 스레드 하나에서 순서대로 불린다. 오래 걸리면 뒤 배치가 밀리니 무거운 일은 따로 넘길 것.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+public interface ChangeFeedListener {
+
+    void onChanges(ChangeBatch batch);
+}
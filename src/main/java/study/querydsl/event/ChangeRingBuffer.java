@@ -0,0 +1,93 @@
+package study.querydsl.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * fileName    : ChangeRingBuffer
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 커밋하는 스레드들(여러 생산자) -> ChangeFeed 전달 스레드(소비자 하나) 사이의 고정 크기 큐. 락 없음.
+ * 칸마다 sequence 를 둬서 (Vyukov bounded queue)
+ *   sequence == pos      : 비어 있음. pos 번째 생산자가 CAS 로 tail 을 잡고 채운다
+ *   sequence == pos + 1  : 채워짐. 소비자가 꺼내고 pos + capacity 로 돌려놓는다
+ * 값은 일반 배열에 쓰고 sequence(volatile) 를 나중에 써서 공개한다. 꽉 차면 offer 가 false.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+final class ChangeRingBuffer<T> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자 스레드만 쓴다. size() 때문에 volatile
+    private volatile long head;
+
+    ChangeRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 는 2 이상 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * 여러 스레드에서 동시에 불러도 된다. 꽉 찼으면 false
+     */
+    boolean offer(T item) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index] = item;
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // 소비자가 아직 한 바퀴 전 값을 안 꺼냈다
+                return false;
+            } else {
+                // 다른 생산자가 먼저 가져갔다
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 소비자 스레드 하나에서만. 비었거나 아직 쓰는 중인 칸이면 null
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        long pos = head;
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) {
+            return null;
+        }
+        T item = (T) slots[index];
+        slots[index] = null;
+        sequences.set(index, pos + slots.length);
+        head = pos + 1;
+        return item;
+    }
+
+    /**
+     * 대략적인 값 (모니터링용)
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(slots.length, tail.get() - head));
+    }
+}
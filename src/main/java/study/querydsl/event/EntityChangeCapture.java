@@ -0,0 +1,119 @@
+package study.querydsl.event;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * fileName    : EntityChangeCapture
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : Hibernate insert/update/delete 이벤트(flush 시점) -> MemberChangeEvent/TeamChangeEvent -> ChangeFeed.record.
+ * flush 순서대로 트랜잭션에 쌓였다가 커밋되면 배치 하나로 나간다. 롤백되면 버려진다.
+ * JPQL 벌크 update/delete 는 엔티티 이벤트가 없어서 ConfiguredJPAQueryFactory 가 BulkChangeEvent 로 따로 남긴다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 8:00 오후  hyechan        최초 생성
+ */
+@Component
+public class EntityChangeCapture implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory emf;
+    private final ChangeFeed changeFeed;
+
+    public EntityChangeCapture(EntityManagerFactory emf, ChangeFeed changeFeed) {
+        this.emf = emf;
+        this.changeFeed = changeFeed;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            changeFeed.record(MemberChangeEvent.created(memberState(event.getId(), event.getState(), event.getPersister())));
+        } else if (event.getEntity() instanceof Team) {
+            changeFeed.record(TeamChangeEvent.created(teamState(event.getId(), event.getState(), event.getPersister())));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        // merge 등으로 스냅샷이 없으면 이전 값은 모른다
+        if (event.getEntity() instanceof Member) {
+            MemberState after = memberState(event.getId(), event.getState(), event.getPersister());
+            MemberState before = event.getOldState() != null
+                    ? memberState(event.getId(), event.getOldState(), event.getPersister()) : null;
+            changeFeed.record(MemberChangeEvent.updated(before, after));
+        } else if (event.getEntity() instanceof Team) {
+            TeamState after = teamState(event.getId(), event.getState(), event.getPersister());
+            TeamState before = event.getOldState() != null
+                    ? teamState(event.getId(), event.getOldState(), event.getPersister()) : null;
+            changeFeed.record(TeamChangeEvent.updated(before, after));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            changeFeed.record(MemberChangeEvent.deleted(memberState(event.getId(), event.getDeletedState(), event.getPersister())));
+        } else if (event.getEntity() instanceof Team) {
+            changeFeed.record(TeamChangeEvent.deleted(teamState(event.getId(), event.getDeletedState(), event.getPersister())));
+        }
+    }
+
+    // 커밋 뒤 처리는 ChangeFeed 가 트랜잭션 동기화로 한다
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private static MemberState memberState(Object id, Object[] values, EntityPersister persister) {
+        Object team = values[persister.getEntityMetamodel().getPropertyIndex("team")];
+        Object age = values[persister.getEntityMetamodel().getPropertyIndex("age")];
+        return new MemberState(
+                (Long) id,
+                (String) values[persister.getEntityMetamodel().getPropertyIndex("username")],
+                age != null ? (Integer) age : 0,
+                teamId(team),
+                (String) values[persister.getEntityMetamodel().getPropertyIndex("teamName")]);
+    }
+
+    private static TeamState teamState(Object id, Object[] values, EntityPersister persister) {
+        return new TeamState((Long) id, (String) values[persister.getEntityMetamodel().getPropertyIndex("name")]);
+    }
+
+    // 프록시면 초기화하지 않고 id 만 꺼낸다
+    private static Long teamId(Object team) {
+        if (team == null) {
+            return null;
+        }
+        if (team instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) team).getHibernateLazyInitializer().getIdentifier();
+        }
+        return ((Team) team).getId();
+    }
+}
@@ -0,0 +1,48 @@
+package study.querydsl.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * fileName    : MemberChangeEvent
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : member 추가/수정/삭제. 커밋된 뒤에만 발행된다 (ChangeFeed).
+ * CREATED 면 before 가 null, DELETED 면 after 가 null.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 8:00 오후  hyechan        최초 생성
+ */
+@Getter
+@ToString
+public final class MemberChangeEvent implements ChangeEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final MemberState before;
+    private final MemberState after;
+
+    private MemberChangeEvent(Type type, MemberState before, MemberState after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static MemberChangeEvent created(MemberState after) {
+        return new MemberChangeEvent(Type.CREATED, null, after);
+    }
+
+    public static MemberChangeEvent updated(MemberState before, MemberState after) {
+        return new MemberChangeEvent(Type.UPDATED, before, after);
+    }
+
+    public static MemberChangeEvent deleted(MemberState before) {
+        return new MemberChangeEvent(Type.DELETED, before, null);
+    }
+
+    public Long getMemberId() {
+        return after != null ? after.getMemberId() : before.getMemberId();
+    }
+}
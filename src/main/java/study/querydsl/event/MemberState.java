@@ -0,0 +1,35 @@
+package study.querydsl.event;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * fileName    : MemberState
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 변경 이벤트에 실리는 member 한 건의 값. 엔티티를 그대로 넘기면 세션 밖에서 lazy 로딩이 터지니까 값만 복사한다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 8:00 오후  hyechan        최초 생성
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class MemberState {
+
+    private final Long memberId;
+    private final String username;
+    private final int age;
+    private final Long teamId;
+    private final String teamName;
+
+    public MemberState(Long memberId, String username, int age, Long teamId, String teamName) {
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.teamName = teamName;
+    }
+}
@@ -0,0 +1,47 @@
+package study.querydsl.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * fileName    : TeamChangeEvent
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : team 추가/수정/삭제. CREATED 면 before 가 null, DELETED 면 after 가 null.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+@Getter
+@ToString
+public final class TeamChangeEvent implements ChangeEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final TeamState before;
+    private final TeamState after;
+
+    private TeamChangeEvent(Type type, TeamState before, TeamState after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static TeamChangeEvent created(TeamState after) {
+        return new TeamChangeEvent(Type.CREATED, null, after);
+    }
+
+    public static TeamChangeEvent updated(TeamState before, TeamState after) {
+        return new TeamChangeEvent(Type.UPDATED, before, after);
+    }
+
+    public static TeamChangeEvent deleted(TeamState before) {
+        return new TeamChangeEvent(Type.DELETED, before, null);
+    }
+
+    public Long getTeamId() {
+        return after != null ? after.getTeamId() : before.getTeamId();
+    }
+}
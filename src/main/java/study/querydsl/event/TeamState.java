@@ -0,0 +1,29 @@
+package study.querydsl.event;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * fileName    : TeamState
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 변경 이벤트에 실리는 team 한 건의 값 (MemberState 와 같은 이유로 값만 복사)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class TeamState {
+
+    private final Long teamId;
+    private final String name;
+
+    public TeamState(Long teamId, String name) {
+        this.teamId = teamId;
+        this.name = name;
+    }
+}
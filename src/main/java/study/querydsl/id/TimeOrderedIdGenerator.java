@@ -0,0 +1,54 @@
+package study.querydsl.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * fileName    : TimeOrderedIdGenerator
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : TimeOrderedIds 를 하이버네이트 id generator 로. persist 할 때 DB 시퀀스 왕복이 없다.
+ * 엔티티마다 @GenericGenerator(strategy = STRATEGY) 로 붙이고, 필요하면 @Parameter 로
+ *   group : id 상태를 같이 쓰는 이름 (기본값 테이블 이름). 설정 TimeOrderedIdGroups.GROUPS_SETTING 의 묶음에서 찾는다
+ *   node  : 이 엔티티만 다른 node (기본값 hibernate 설정 id-generator.node, IdGeneratorConfiguration 이 넣는다)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 10:00 오후  hyechan        최초 생성
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator, Configurable {
+
+    public static final String STRATEGY = "study.querydsl.id.TimeOrderedIdGenerator";
+    public static final String NODE_SETTING = "id-generator.node";
+    public static final String GROUP_PARAMETER = "group";
+    public static final String NODE_PARAMETER = "node";
+
+    private TimeOrderedIds ids;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        Object defaultNode = serviceRegistry.getService(ConfigurationService.class).getSettings().get(NODE_SETTING);
+        int node = Integer.parseInt(params.getProperty(NODE_PARAMETER, defaultNode != null ? defaultNode.toString() : "0"));
+        String group = params.getProperty(GROUP_PARAMETER, params.getProperty(PersistentIdentifierGenerator.TABLE,
+                params.getProperty(IdentifierGenerator.ENTITY_NAME)));
+        Object groups = serviceRegistry.getService(ConfigurationService.class).getSettings().get(TimeOrderedIdGroups.GROUPS_SETTING);
+        // 스프링 밖에서 하이버네이트만 띄우면 묶음이 없다. 그때는 generator 마다 따로
+        ids = groups instanceof TimeOrderedIdGroups
+                ? ((TimeOrderedIdGroups) groups).group(group.toLowerCase(Locale.ROOT), node)
+                : new TimeOrderedIds(node);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return ids.next();
+    }
+}
@@ -0,0 +1,35 @@
+package study.querydsl.id;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * fileName    : TimeOrderedIdGroups
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 같은 테이블에 id 를 쓰는 곳끼리 TimeOrderedIds 를 나눠 쓰는 이름별 묶음.
+ * 스프링 컨텍스트(= SessionFactory)마다 하나 (IdGeneratorConfiguration). static 이면 JVM 하나에 컨텍스트가 여럿일 때
+ * (설정이 다른 테스트 컨텍스트 등) node 가 다른 그룹끼리 부딪힌다.
+ * 하이버네이트 generator 는 설정 GROUPS_SETTING 으로 받는다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:30 오후  hyechan        최초 생성
+ */
+public final class TimeOrderedIdGroups {
+
+    public static final String GROUPS_SETTING = "id-generator.groups";
+
+    private final Map<String, TimeOrderedIds> groups = new ConcurrentHashMap<>();
+
+    /**
+     * 이름별로 하나. 같은 이름을 다른 node 로 부르면 설정이 어긋난 것이라 예외
+     */
+    public TimeOrderedIds group(String name, int node) {
+        TimeOrderedIds ids = groups.computeIfAbsent(name, key -> new TimeOrderedIds(node));
+        if (ids.getNode() != node) {
+            throw new IllegalStateException("id group '" + name + "' 는 이미 node " + ids.getNode() + " 로 만들어졌습니다: " + node);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,83 @@
+package study.querydsl.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * fileName    : TimeOrderedIds
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 시간 순으로 커지는 64비트 id. DB 시퀀스를 안 거친다.
+ * [0][41비트 ms (EPOCH 이후)][10비트 node][12비트 sequence]
+ * 1. 마지막으로 나간 (ms, sequence) 를 AtomicLong 하나에 두고 CAS 로만 올린다. 락, 객체 생성 없음
+ * 2. 같은 ms 안에서는 sequence + 1. 4096 개를 넘으면 다음 ms 를 미리 당겨 쓴다 (기다리지 않는다)
+ * 3. 시계가 뒤로 가도 마지막 값보다 작은 값은 안 나간다
+ * 그래서 한 프로세스(node) 안에서는 항상 증가하고 안 겹친다. 프로세스끼리는 node 가 달라야 한다.
+ * 같은 테이블에 id 를 쓰는 곳(하이버네이트 generator, MemberCsvImporter)은 TimeOrderedIdGroups 로 같은 인스턴스를 나눠 쓴다.
+ * 2^53 보다 커서 JSON 으로 내보낼 때는 문자열로 (JS number 로 읽으면 끝자리가 뭉개진다).
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 10:00 오후  hyechan        최초 생성
+ */
+public final class TimeOrderedIds {
+
+    static final int SEQUENCE_BITS = 12;
+    static final int NODE_BITS = 10;
+    static final int TIMESTAMP_BITS = 41;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    // 2026-01-01T00:00:00Z. 41비트 ms 로 약 69년
+    public static final long EPOCH_MILLIS = 1767225600000L;
+
+    private final int node;
+    private final LongSupplier clock;
+    // (EPOCH 이후 ms << SEQUENCE_BITS) | sequence. 마지막으로 나간 값
+    private final AtomicLong last = new AtomicLong();
+
+    public TimeOrderedIds(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    TimeOrderedIds(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node 는 0 ~ " + MAX_NODE + " 이어야 합니다: " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    public long next() {
+        while (true) {
+            long prev = last.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long next = Math.max(now << SEQUENCE_BITS, prev + 1);
+            if (last.compareAndSet(prev, next)) {
+                return compose(next);
+            }
+        }
+    }
+
+    public int getNode() {
+        return node;
+    }
+
+    /**
+     * id 가 만들어진 시각 (epoch ms). 미리 당겨 쓴 경우 실제보다 조금 늦을 수 있다
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE);
+    }
+
+    private long compose(long stamp) {
+        long millis = stamp >>> SEQUENCE_BITS;
+        if (millis >= 1L << TIMESTAMP_BITS) {
+            throw new IllegalStateException("timestamp 비트를 다 썼습니다. EPOCH_MILLIS 를 확인하세요");
+        }
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | ((long) node << SEQUENCE_BITS) | (stamp & SEQUENCE_MASK);
+    }
+}
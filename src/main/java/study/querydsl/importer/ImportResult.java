@@ -0,0 +1,55 @@
+package study.querydsl.importer;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * fileName    : ImportResult
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : CSV 적재 결과. 실패한 청크는 통째로 롤백돼서 바이트 범위로 다시 돌릴 수 있다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 11:00 오전  hyechan        최초 생성
+ */
+@Getter
+@ToString
+public class ImportResult {
+
+    private final long importedRows;
+    // 형식이 잘못돼서 건너뛴 줄
+    private final long rejectedRows;
+    private final int chunks;
+    private final List<FailedChunk> failedChunks;
+    private final long elapsedMillis;
+
+    public ImportResult(long importedRows, long rejectedRows, int chunks, List<FailedChunk> failedChunks,
+                        long elapsedMillis) {
+        this.importedRows = importedRows;
+        this.rejectedRows = rejectedRows;
+        this.chunks = chunks;
+        this.failedChunks = failedChunks;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? importedRows * 1000.0 / elapsedMillis : importedRows;
+    }
+
+    @Getter
+    @ToString
+    public static class FailedChunk {
+        private final long startOffset;
+        private final long endOffset;
+        private final String message;
+
+        public FailedChunk(long startOffset, long endOffset, String message) {
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+            this.message = message;
+        }
+    }
+}
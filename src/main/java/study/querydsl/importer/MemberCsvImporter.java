@@ -0,0 +1,318 @@
+package study.querydsl.importer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.id.TimeOrderedIdGroups;
+import study.querydsl.id.TimeOrderedIds;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * fileName    : MemberCsvImporter
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 회원 CSV 대량 적재. em.persist 한 건씩으로는 수백만 건을 못 넣는다.
+ * 1. 파일을 chunk-size-bytes 근처에서 줄 경계로 자르고, 청크마다 FileChannel.map 으로 읽는다
+ * 2. 청크 파싱/쓰기를 threads 개 스레드로 동시에. 팀 이름 -> id 는 importFile 호출마다 새로 만드는 캐시 (없으면 팀 생성)
+ *    team.name 은 unique (uk_team_name). 다른 import 나 프로세스가 먼저 만들었으면 그 팀을 쓴다
+ * 3. 청크 하나 = 트랜잭션 하나. JdbcTemplate batchUpdate 로 batch-size 씩. 실패하면 max-retries 만큼 다시
+ * 형식: username,age,teamName (첫 줄이 username, 으로 시작하면 헤더). "..." 따옴표 지원, 값 안에 줄바꿈은 안 된다.
+ * JDBC 로 바로 넣기 때문에 MemberChangeEvent 는 안 나간다. 읽기 모델은 재계산 때 맞춰진다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 11:00 오전  hyechan        최초 생성
+ */
+@Slf4j
+@Component
+public class MemberCsvImporter {
+
+    private static final String INSERT_MEMBER = "insert into member "
+            + "(member_id, username, age, team_id, team_name, username_normalized) "
+            + "values (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_TEAM = "select id from team where name = ?";
+    private static final String INSERT_TEAM = "insert into team (id, name) values (?, ?)";
+
+    // 줄 경계를 찾을 때 한 번에 읽는 크기
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+    private static final long RETRY_BACKOFF_MS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final MemberImportProperties properties;
+    // 엔티티 TimeOrderedIdGenerator 와 같은 group 을 써서 id 가 안 겹친다
+    private final TimeOrderedIds memberIds;
+    private final TimeOrderedIds newTeamIds;
+
+    public MemberCsvImporter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             MemberImportProperties properties, TimeOrderedIdGroups idGroups,
+                             @Value("${id-generator.node:0}") int idNode) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.memberIds = idGroups.group("member", idNode);
+        this.newTeamIds = idGroups.group("team", idNode);
+    }
+
+    public ImportResult importFile(Path path) {
+        long start = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 캐시는 이번 호출 것만. 동시에 도는 다른 importFile 과 섞이지 않고, 그 사이 지워진 팀도 DB 에서 다시 찾는다
+            TeamIds teams = new TeamIds();
+            List<long[]> chunks = split(channel, properties.getChunkSizeBytes());
+            log.info("member import 시작. file={}, bytes={}, chunks={}", path, channel.size(), chunks.size());
+
+            AtomicLong imported = new AtomicLong();
+            AtomicLong rejected = new AtomicLong();
+            AtomicInteger done = new AtomicInteger();
+            List<ImportResult.FailedChunk> failed = Collections.synchronizedList(new ArrayList<>());
+
+            ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()), new ImportThreadFactory());
+            try {
+                List<Future<?>> futures = new ArrayList<>(chunks.size());
+                for (long[] chunk : chunks) {
+                    futures.add(workers.submit(() -> {
+                        ImportResult.FailedChunk failure = importChunk(channel, chunk[0], chunk[1], teams, imported, rejected);
+                        if (failure != null) {
+                            failed.add(failure);
+                        }
+                        logProgress(done.incrementAndGet(), chunks.size(), imported.get(), start);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("member import 중단. file=" + path, e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("member import 실패. file=" + path, e.getCause());
+            } finally {
+                workers.shutdownNow();
+            }
+
+            ImportResult result = new ImportResult(imported.get(), rejected.get(), chunks.size(),
+                    new ArrayList<>(failed), System.currentTimeMillis() - start);
+            log.info("member import 완료. rows={}, rejected={}, failedChunks={}, {}ms, {} rows/s",
+                    result.getImportedRows(), result.getRejectedRows(), result.getFailedChunks().size(),
+                    result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("member import 파일 읽기 실패. file=" + path, e);
+        }
+    }
+
+    /**
+     * [start, end) 바이트 구간 목록. 끝은 항상 '\n' 다음이나 파일 끝이라 한 줄이 두 청크로 갈라지지 않는다.
+     */
+    static List<long[]> split(FileChannel channel, long chunkSize) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long step = Math.max(1, chunkSize);
+            long end = start + step >= size ? size : nextLineStart(channel, start + step, size);
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private ImportResult.FailedChunk importChunk(FileChannel channel, long start, long end, TeamIds teams,
+                                                 AtomicLong imported, AtomicLong rejected) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        List<MemberCsvRow> rows = new ArrayList<>();
+        rejected.addAndGet(parse(StandardCharsets.UTF_8.decode(mapped), start == 0, rows));
+
+        int maxAttempts = Math.max(0, properties.getMaxRetries()) + 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                resolveTeams(rows, teams);
+                transaction.executeWithoutResult(status -> insert(rows, teams));
+                imported.addAndGet(rows.size());
+                return null;
+            } catch (RuntimeException e) {
+                // 청크 단위로 롤백됐으니 처음부터 다시 넣으면 된다
+                if (attempt >= maxAttempts) {
+                    log.warn("member import 청크 실패. bytes=[{}, {}), attempts={}", start, end, attempt, e);
+                    return new ImportResult.FailedChunk(start, end, e.getMessage());
+                }
+                log.info("member import 청크 재시도. bytes=[{}, {}), attempt={}, cause={}", start, end, attempt, e.toString());
+                sleep(RETRY_BACKOFF_MS * attempt);
+            }
+        }
+    }
+
+    /**
+     * @return 형식이 잘못돼서 건너뛴 줄 수
+     */
+    static int parse(CharBuffer text, boolean firstChunk, List<MemberCsvRow> rows) {
+        int rejected = 0;
+        int lineStart = 0;
+        boolean header = firstChunk;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            if (i < length && text.charAt(i) != '\n') {
+                continue;
+            }
+            int lineEnd = i > lineStart && text.charAt(i - 1) == '\r' ? i - 1 : i;
+            String line = text.subSequence(lineStart, lineEnd).toString();
+            lineStart = i + 1;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (header) {
+                header = false;
+                if (line.regionMatches(true, 0, "username,", 0, "username,".length())) {
+                    continue;
+                }
+            }
+            MemberCsvRow row = MemberCsvRow.parse(line);
+            if (row == null) {
+                rejected++;
+                log.debug("member import 형식 오류. line={}", line);
+            } else {
+                rows.add(row);
+            }
+        }
+        return rejected;
+    }
+
+    // 청크 트랜잭션 밖에서. 새 팀은 바로 커밋돼야 다른 청크가 같은 id 를 쓴다
+    private void resolveTeams(List<MemberCsvRow> rows, TeamIds teams) {
+        Set<String> names = new LinkedHashSet<>();
+        for (MemberCsvRow row : rows) {
+            if (row.getTeamName() != null && !teams.ids.containsKey(row.getTeamName())) {
+                names.add(row.getTeamName());
+            }
+        }
+        for (String name : names) {
+            // computeIfAbsent 안에서 트랜잭션을 돌리면 커밋될 때까지 같은 bin 의 다른 이름까지 막힌다.
+            // 조회/생성은 맵 밖에서 이름별 잠금으로 하고 결과만 putIfAbsent
+            synchronized (teams.locks.computeIfAbsent(name, n -> new Object())) {
+                if (!teams.ids.containsKey(name)) {
+                    teams.ids.putIfAbsent(name, findOrCreateTeam(name));
+                }
+            }
+        }
+    }
+
+    private Long findOrCreateTeam(String name) {
+        try {
+            return transaction.execute(status -> {
+                List<Long> existing = jdbcTemplate.queryForList(SELECT_TEAM, Long.class, name);
+                if (!existing.isEmpty()) {
+                    return existing.get(0);
+                }
+                Long id = newTeamIds.next();
+                jdbcTemplate.update(INSERT_TEAM, id, name);
+                return id;
+            });
+        } catch (DuplicateKeyException e) {
+            // 조회와 insert 사이에 다른 import/프로세스가 같은 이름으로 먼저 커밋했다 (uk_team_name). 그 팀을 쓴다
+            return jdbcTemplate.queryForObject(SELECT_TEAM, Long.class, name);
+        }
+    }
+
+    private void insert(List<MemberCsvRow> rows, TeamIds teams) {
+        jdbcTemplate.batchUpdate(INSERT_MEMBER, rows, Math.max(1, properties.getBatchSize()), (ps, row) -> {
+            // 재시도하면 새 id 로 다시 넣는다 (실패한 청크는 롤백돼서 안 남는다)
+            ps.setLong(1, memberIds.next());
+            ps.setString(2, row.getUsername());
+            ps.setInt(3, row.getAge());
+            Long teamId = row.getTeamName() != null ? teams.ids.get(row.getTeamName()) : null;
+            if (teamId != null) {
+                ps.setLong(4, teamId);
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setString(5, row.getTeamName());
+            ps.setString(6, Member.normalizeUsername(row.getUsername()));
+        });
+    }
+
+    private void logProgress(int done, int total, long rows, long start) {
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        log.info("member import 진행 {}/{} 청크. rows={}, {} rows/s", done, total, rows, rows * 1000 / elapsed);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("member import 재시도 대기 중 중단", e);
+        }
+    }
+
+    /**
+     * importFile 한 번 동안만 쓰는 팀 이름 -> id 캐시
+     */
+    private static class TeamIds {
+        private final Map<String, Long> ids = new ConcurrentHashMap<>();
+        // 같은 팀을 두 스레드가 동시에 만들지 않게 이름별로 잡는 잠금
+        private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    }
+
+    private static class ImportThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "member-import-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package study.querydsl.importer;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * fileName    : MemberCsvRow
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : CSV 한 줄 (username,age,teamName). teamName 이 비어 있으면 팀 없는 회원
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 11:00 오전  hyechan        최초 생성
+ */
+@Getter
+@ToString
+class MemberCsvRow {
+
+    private final String username;
+    private final int age;
+    private final String teamName;
+
+    MemberCsvRow(String username, int age, String teamName) {
+        this.username = username;
+        this.age = age;
+        this.teamName = teamName;
+    }
+
+    /**
+     * 형식이 잘못됐으면 null (컬럼 수, username 비었음, age 숫자 아님)
+     */
+    static MemberCsvRow parse(String line) {
+        List<String> fields = split(line);
+        if (fields == null || fields.size() < 2 || fields.size() > 3 || fields.get(0).isEmpty()) {
+            return null;
+        }
+        int age;
+        try {
+            age = Integer.parseInt(fields.get(1).trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        String teamName = fields.size() == 3 && !fields.get(2).isBlank() ? fields.get(2) : null;
+        return new MemberCsvRow(fields.get(0), age, teamName);
+    }
+
+    // "..." 안의 쉼표는 값, "" 는 따옴표 하나. 따옴표가 안 닫히면 null
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
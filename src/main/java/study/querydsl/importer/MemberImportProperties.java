@@ -0,0 +1,30 @@
+package study.querydsl.importer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * fileName    : MemberImportProperties
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : member-import.* CSV 대량 적재 (MemberCsvImporter)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 11:00 오전  hyechan        최초 생성
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "member-import")
+public class MemberImportProperties {
+    // 지정하면 기동할 때 이 파일을 적재한다 (MemberImportRunner)
+    private String file;
+    // 청크를 동시에 처리할 스레드 수. 커넥션 풀보다 크면 안 된다
+    private int threads = 4;
+    // 파일을 이 크기 근처에서 줄 단위로 자른다. 청크 하나 = 트랜잭션 하나
+    private int chunkSizeBytes = 8 * 1024 * 1024;
+    // JDBC batch 크기
+    private int batchSize = 1000;
+    // 청크 실패 시 재시도 횟수
+    private int maxRetries = 3;
+}
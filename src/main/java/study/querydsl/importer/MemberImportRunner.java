@@ -0,0 +1,40 @@
+package study.querydsl.importer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+
+/**
+ * fileName    : MemberImportRunner
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : member-import.file 이 있으면 기동할 때 적재.
+ * ApplicationReadyEvent 전에 끝나서 읽기 모델들은 적재된 데이터로 처음 올라온다.
+ * ex) --member-import.file=/data/members.csv
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 11:00 오전  hyechan        최초 생성
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "member-import", name = "file")
+public class MemberImportRunner implements ApplicationRunner {
+
+    private final MemberCsvImporter importer;
+    private final MemberImportProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ImportResult result = importer.importFile(Paths.get(properties.getFile()));
+        if (!result.getFailedChunks().isEmpty()) {
+            log.warn("member import 실패한 청크 있음. 바이트 범위로 다시 돌리면 된다. {}", result.getFailedChunks());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package study.querydsl.readmodel;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * fileName    : AgeBuckets
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 나이 구간. 경계 [0, 21, 31] 이면 0~20, 21~30, 31~ (QuerydslBasicTest.complexCase 와 같은 구간).
+ * 첫 경계가 0 보다 크면 0 부터 첫 경계 전까지 구간을 앞에 하나 더 둔다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 9:00 오전  hyechan        최초 생성
+ */
+public final class AgeBuckets {
+
+    static final int MAX_BUCKETS = 50;
+
+    public static final AgeBuckets DEFAULT = of(Arrays.asList(0, 21, 31));
+
+    // 각 구간 시작 나이. 오름차순, 첫 값은 0
+    private final int[] starts;
+
+    private AgeBuckets(int[] starts) {
+        this.starts = starts;
+    }
+
+    public static AgeBuckets of(List<Integer> edges) {
+        if (edges == null || edges.isEmpty()) {
+            return DEFAULT;
+        }
+        int offset = edges.get(0) != null && edges.get(0) > 0 ? 1 : 0;
+        int[] starts = new int[edges.size() + offset];
+        for (int i = 0; i < edges.size(); i++) {
+            Integer edge = edges.get(i);
+            if (edge == null || edge < 0) {
+                throw new InvalidAgeBucketsException("구간 경계는 0 이상이어야 합니다. edges=" + edges);
+            }
+            if (i > 0 && edge <= edges.get(i - 1)) {
+                throw new InvalidAgeBucketsException("구간 경계는 오름차순이어야 합니다. edges=" + edges);
+            }
+            starts[i + offset] = edge;
+        }
+        if (starts.length > MAX_BUCKETS) {
+            throw new InvalidAgeBucketsException("구간은 최대 " + MAX_BUCKETS + "개. edges=" + edges);
+        }
+        return new AgeBuckets(starts);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public int from(int bucket) {
+        return starts[bucket];
+    }
+
+    /**
+     * 다음 구간 시작. 마지막 구간이면 null
+     */
+    public Integer toExclusive(int bucket) {
+        return bucket + 1 < starts.length ? starts[bucket + 1] : null;
+    }
+
+    public String label(int bucket) {
+        Integer to = toExclusive(bucket);
+        return to != null ? starts[bucket] + "~" + (to - 1) : starts[bucket] + "~";
+    }
+
+    /**
+     * 나이 -> 구간 번호 case 식 (JPQL 템플릿, {0} = 나이).
+     * 경계를 파라미터가 아닌 리터럴로 넣어야 select 와 group by 의 식이 글자까지 같아서 DB 가 같은 식으로 본다.
+     * 경계는 검증된 int 라 그대로 넣어도 된다.
+     */
+    String caseTemplate() {
+        StringBuilder template = new StringBuilder("case");
+        for (int i = 1; i < starts.length; i++) {
+            template.append(" when {0} < ").append(starts[i]).append(" then ").append(i - 1);
+        }
+        return template.append(" else ").append(starts.length - 1).append(" end").toString();
+    }
+}
@@ -0,0 +1,75 @@
+package study.querydsl.readmodel;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.AgeBucketDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * fileName    : AgeHistogram
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 나이 구간별 회원 수. QuerydslBasicTest.complexCase 의 CaseBuilder 를 조회마다 전체 행에 돌리지 않는다.
+ * TeamStatsReadModel 이 쓰기 때마다 맞춰두는 나이별 건수를 구간으로 더하기만 한다 (행 수와 무관, 나이 종류 수만큼).
+ * 읽기 모델이 아직이면 case 식으로 group by 한 번.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 9:00 오전  hyechan        최초 생성
+ */
+@Component
+@RequiredArgsConstructor
+public class AgeHistogram {
+
+    private final TeamStatsReadModel teamStatsReadModel;
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * @param teamId null 이면 팀 없는 회원 포함 전체
+     */
+    public List<AgeBucketDto> histogram(AgeBuckets buckets, Long teamId) {
+        if (!teamStatsReadModel.isReady()) {
+            return loadFromDatabase(buckets, teamId);
+        }
+        List<AgeBucketDto> result = new ArrayList<>(buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            long count = teamStatsReadModel.countBetween(teamId, buckets.from(i), buckets.toExclusive(i));
+            result.add(toDto(buckets, i, count));
+        }
+        return result;
+    }
+
+    public List<AgeBucketDto> loadFromDatabase(AgeBuckets buckets, Long teamId) {
+        NumberExpression<Integer> bucket = Expressions.numberTemplate(Integer.class, buckets.caseTemplate(), member.age);
+        List<Tuple> rows = queryFactory
+                .select(bucket, member.count())
+                .from(member)
+                .where(member.age.goe(buckets.from(0)),
+                        teamId != null ? member.team.id.eq(teamId) : null)
+                .groupBy(bucket)
+                .fetch();
+
+        long[] counts = new long[buckets.size()];
+        for (Tuple row : rows) {
+            counts[row.get(0, Number.class).intValue()] = row.get(1, Long.class);
+        }
+        List<AgeBucketDto> result = new ArrayList<>(buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            result.add(toDto(buckets, i, counts[i]));
+        }
+        return result;
+    }
+
+    private static AgeBucketDto toDto(AgeBuckets buckets, int bucket, long count) {
+        Integer to = buckets.toExclusive(bucket);
+        return new AgeBucketDto(buckets.label(bucket), buckets.from(bucket), to != null ? to - 1 : null, count);
+    }
+}
@@ -0,0 +1,17 @@
+package study.querydsl.readmodel;
+
+/**
+ * fileName    : InvalidAgeBucketsException
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 히스토그램 구간 경계가 잘못됨. 컨트롤러에서 400 으로 내려간다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 9:00 오전  hyechan        최초 생성
+ */
+public class InvalidAgeBucketsException extends IllegalArgumentException {
+    public InvalidAgeBucketsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,194 @@
+package study.querydsl.readmodel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberAutocompleteDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.event.BulkChangeEvent;
+import study.querydsl.event.ChangeBatch;
+import study.querydsl.event.ChangeEvent;
+import study.querydsl.event.ChangeFeedListener;
+import study.querydsl.event.MemberChangeEvent;
+import study.querydsl.event.MemberState;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * fileName    : MemberAutocompleteIndex
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : username 앞부분 자동완성. 키 입력마다 like 'abc%' 로 DB 가는 대신 메모리에서 찾는다.
+ * 정규화된 username 순으로 정렬된 맵이라 prefix 는 tailMap 에서 앞에서부터 limit 개만 읽으면 끝.
+ * 1. 기동이 끝나면 member 전체를 stream 으로 읽어서 채움 (그 전엔 ready=false, 컨트롤러가 DB 로)
+ * 2. 이후엔 MemberChangeEvent(커밋된 추가/이름변경/삭제)로 갱신
+ * 3. username/team_name 을 바꾸는 벌크 update, 벌크 delete 는 어떤 행인지 모르니 비우고 다시 적재 (그동안 ready=false)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 8:00 오후  hyechan        최초 생성
+ */
+@Slf4j
+@Component
+public class MemberAutocompleteIndex implements ChangeFeedListener {
+
+    // 같은 이름이 여러 명일 수 있어서 키 = 정규화된 username + 구분자 + member_id (19자리 0 채움).
+    // 문자열 비교라 id 를 안 채우면 10 이 9 보다 앞에 온다. 채우면 DB 의 (username_normalized, member_id) 순서와 같다
+    private static final char SEPARATOR = '\u0000';
+    private static final int ID_DIGITS = 19;
+
+    private final ConcurrentSkipListMap<String, MemberAutocompleteDto> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keyById = new ConcurrentHashMap<>();
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "member-autocomplete-build");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean ready;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    public MemberAutocompleteIndex(MemberRepository memberRepository, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return keyById.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInBackground() {
+        builder.execute(this::build);
+    }
+
+    /**
+     * 적재 중에 들어온 변경 이벤트도 같은 맵에 바로 반영된다.
+     * 적재가 늦게 읽은 행이 그 사이 삭제된 member 를 되살릴 수는 있다. (다음 재기동 때 정리됨)
+     */
+    public void build() {
+        long start = System.currentTimeMillis();
+        readOnlyTransaction.executeWithoutResult(status ->
+                memberRepository.searchForEach(new MemberSearchCondition(), row ->
+                        put(row.getMemberId(), row.getUsername(), row.getTeamName())));
+        ready = true;
+        log.info("member autocomplete 적재 완료. rows={}, {}ms", size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return 정규화된 username 순으로 최대 limit 개. prefix 가 비어 있으면 빈 목록
+     */
+    public List<MemberAutocompleteDto> complete(String prefix, int limit) {
+        String from = Member.normalizeUsername(prefix);
+        if (from == null || from.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<MemberAutocompleteDto> result = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<String, MemberAutocompleteDto> entry : entries.tailMap(from).entrySet()) {
+            if (!entry.getKey().startsWith(from)) {
+                break;
+            }
+            result.add(entry.getValue());
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void onChanges(ChangeBatch batch) {
+        for (ChangeEvent event : batch.getEvents()) {
+            if (event instanceof MemberChangeEvent) {
+                onMemberChange((MemberChangeEvent) event);
+            } else if (event instanceof BulkChangeEvent) {
+                onBulkChange((BulkChangeEvent) event);
+            }
+        }
+    }
+
+    public void onMemberChange(MemberChangeEvent event) {
+        MemberState after = event.getAfter();
+        if (after == null) {
+            remove(event.getMemberId());
+        } else {
+            put(after.getMemberId(), after.getUsername(), after.getTeamName());
+        }
+    }
+
+    void onBulkChange(BulkChangeEvent event) {
+        if (event.isFor(Member.class) && (event.touches("username") || event.touches("teamName"))) {
+            rebuildInBackground();
+        }
+    }
+
+    // 배치 하나에 벌크가 여러 번 있어도 다시 적재는 한 번만
+    private void rebuildInBackground() {
+        ready = false;
+        if (rebuildQueued.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildQueued.set(false);
+                clear();
+                build();
+            });
+        }
+    }
+
+    private synchronized void clear() {
+        entries.clear();
+        keyById.clear();
+    }
+
+    // 쓰기는 드물어서 두 맵을 같이 바꾸는 동안만 잠근다. 읽기(complete)는 안 잠금
+    synchronized void put(Long memberId, String username, String teamName) {
+        if (username == null) {
+            remove(memberId);
+            return;
+        }
+        String key = key(Member.normalizeUsername(username), memberId);
+        String oldKey = keyById.put(memberId, key);
+        if (oldKey != null && !oldKey.equals(key)) {
+            entries.remove(oldKey);
+        }
+        entries.put(key, new MemberAutocompleteDto(memberId, username, teamName));
+    }
+
+    // member_id 는 양수 (TimeOrderedIds)
+    static String key(String normalized, long memberId) {
+        String id = Long.toString(memberId);
+        StringBuilder key = new StringBuilder(normalized.length() + 1 + ID_DIGITS).append(normalized).append(SEPARATOR);
+        for (int i = id.length(); i < ID_DIGITS; i++) {
+            key.append('0');
+        }
+        return key.append(id).toString();
+    }
+
+    synchronized void remove(Long memberId) {
+        String oldKey = keyById.remove(memberId);
+        if (oldKey != null) {
+            entries.remove(oldKey);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package study.querydsl.readmodel;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberTeamRow;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.event.ChangeEvent;
+import study.querydsl.event.MemberChangeEvent;
+import study.querydsl.event.MemberState;
+import study.querydsl.event.TeamChangeEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * fileName    : MemberReadModel
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : MemberTeamDto 읽기 모델. OffHeapMemberStore(불변) 위에 변경분(힙, 회원 id 별 최신 상태)을 얹어서 본다.
+ * 스냅샷에서 올라왔으면 DB 안 가고 바로 응답할 수 있다.
+ * member/team 변경 이벤트는 apply 로 변경분에만 넣고, compact 가 가끔 저장소와 합쳐 새 저장소로 바꾼다 (DB 안 감).
+ * DB 에서 통째로 다시 읽는 동안(beginReload ~ replace) 온 이벤트는 모아뒀다가 새 저장소 위에 다시 적용한다.
+ * 이벤트는 회원의 바뀐 뒤 상태 전체라 같은 이벤트를 두 번 적용해도 결과가 같다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오전  hyechan        최초 생성
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberReadModel {
+
+    private final JPAQueryFactory queryFactory;
+
+    private volatile View view;
+    // DB 에서 다시 읽는 동안 온 이벤트. null 이면 읽는 중 아님 (this 로 동기화)
+    private List<ChangeEvent> journal;
+
+    public boolean isReady() {
+        return view != null;
+    }
+
+    /**
+     * 변경분까지 합친 저장소 (스냅샷 파일 저장용). 변경분이 있으면 합쳐서 바꿔 끼운다
+     */
+    public OffHeapMemberStore current() {
+        View current = view;
+        if (current == null) {
+            return null;
+        }
+        return current.isCompact() ? current.store : compact();
+    }
+
+    /**
+     * 아직 저장소에 안 합친 변경 회원 수
+     */
+    public int pendingChanges() {
+        View current = view;
+        return current != null ? current.changed.size() : 0;
+    }
+
+    public synchronized void replace(OffHeapMemberStore newStore) {
+        View fresh = new View(newStore, Collections.emptyMap(), Collections.emptyMap());
+        if (journal != null) {
+            fresh = fresh.apply(journal);
+            journal = null;
+        }
+        view = fresh;
+    }
+
+    public synchronized void beginReload() {
+        journal = new ArrayList<>();
+    }
+
+    public synchronized void abortReload() {
+        journal = null;
+    }
+
+    /**
+     * ChangeFeed 전달 스레드에서. 준비 전이면 버린다 (기동 후 DB 에서 읽을 때 다 들어온다)
+     */
+    public synchronized void apply(List<ChangeEvent> events) {
+        if (journal != null) {
+            journal.addAll(events);
+        }
+        if (view != null) {
+            view = view.apply(events);
+        }
+    }
+
+    /**
+     * 변경분을 저장소에 합친다. 합치는 동안(락 밖) 들어온 변경은 새 변경분으로 남긴다
+     */
+    public OffHeapMemberStore compact() {
+        View base = view;
+        if (base == null) {
+            return null;
+        }
+        OffHeapMemberStore.Builder builder = OffHeapMemberStore.builder();
+        base.forEach(builder::add);
+        OffHeapMemberStore merged = builder.build();
+        synchronized (this) {
+            View current = view;
+            if (current == null || current.store != base.store) {
+                // 그 사이 DB 에서 새로 읽었다. 그쪽이 더 최신
+                return current != null ? current.store : null;
+            }
+            view = new View(merged, newerEntries(current.changed, base.changed), newerEntries(current.teamNames, base.teamNames));
+            return merged;
+        }
+    }
+
+    // base 를 찍은 뒤에 바뀐 항목만 (값 객체는 바뀔 때마다 새로 만들어서 같은 객체면 안 바뀐 것)
+    private static <V> Map<Long, V> newerEntries(Map<Long, V> current, Map<Long, V> base) {
+        Map<Long, V> newer = new HashMap<>();
+        current.forEach((id, value) -> {
+            if (!base.containsKey(id) || base.get(id) != value) {
+                newer.put(id, value);
+            }
+        });
+        return newer;
+    }
+
+    /**
+     * 준비 안됐으면 null. 호출하는 쪽에서 DB 조회로 넘어간다.
+     */
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        View current = view;
+        if (current == null) {
+            return null;
+        }
+        List<MemberTeamDto> result = new ArrayList<>();
+        current.forEach(row -> {
+            if (matches(row, condition)) {
+                result.add(new MemberTeamDto(row.getMemberId(), row.getUsername(), row.getAge(), row.getTeamId(), row.getTeamName()));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * member id 기준 keyset 페이징으로 전체를 읽어 새 저장소를 만든다.
+     * offset 페이징은 뒤로 갈수록 느려지니까 id > lastId 로 끊어 읽는다.
+     */
+    public OffHeapMemberStore loadFromDatabase(int chunkSize) {
+        OffHeapMemberStore.Builder builder = OffHeapMemberStore.builder();
+        Long lastId = null;
+        while (true) {
+            List<MemberTeamDto> chunk = queryFactory
+                    .select(new QMemberTeamDto(
+                            member.id.as("memberId"),
+                            member.username,
+                            member.age,
+                            team.id.as("teamId"),
+                            team.name.as("teamName"))
+                    )
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(lastId != null ? member.id.gt(lastId) : null)
+                    .orderBy(member.id.asc())
+                    .limit(chunkSize)
+                    .fetch();
+            for (MemberTeamDto row : chunk) {
+                builder.add(row);
+            }
+            if (chunk.size() < chunkSize) {
+                return builder.build();
+            }
+            lastId = chunk.get(chunk.size() - 1).getMemberId();
+        }
+    }
+
+    private boolean matches(MemberTeamRow row, MemberSearchCondition condition) {
+        if (hasText(condition.getUsername())) {
+            boolean matched = Boolean.TRUE.equals(condition.getUsernameIgnoreCase())
+                    ? Member.normalizeUsername(condition.getUsername()).equals(Member.normalizeUsername(row.getUsername()))
+                    : condition.getUsername().equals(row.getUsername());
+            if (!matched) {
+                return false;
+            }
+        }
+        if (hasText(condition.getUsernamePrefix()) && (row.getUsername() == null
+                || !Member.normalizeUsername(row.getUsername()).startsWith(Member.normalizeUsername(condition.getUsernamePrefix())))) {
+            return false;
+        }
+        if (hasText(condition.getTeamName()) && !Objects.equals(condition.getTeamName(), row.getTeamName())) {
+            return false;
+        }
+        if (condition.getAgeGoe() != null && row.getAge() < condition.getAgeGoe()) {
+            return false;
+        }
+        return condition.getAgeLoe() == null || row.getAge() <= condition.getAgeLoe();
+    }
+
+    /**
+     * 저장소 + 변경분. 불변이라 바꿀 때마다 새로 만든다 (변경분은 compact 전까지라 작다)
+     */
+    private static final class View {
+
+        private final OffHeapMemberStore store;
+        // 회원 id -> 최신 상태. 값이 null 이면 삭제
+        private final Map<Long, MemberTeamDto> changed;
+        // 팀 id -> 바뀐 팀 이름
+        private final Map<Long, String> teamNames;
+
+        private View(OffHeapMemberStore store, Map<Long, MemberTeamDto> changed, Map<Long, String> teamNames) {
+            this.store = store;
+            this.changed = changed;
+            this.teamNames = teamNames;
+        }
+
+        boolean isCompact() {
+            return changed.isEmpty() && teamNames.isEmpty();
+        }
+
+        /**
+         * 순서대로 적용한 새 View. 벌크 변경(BulkChangeEvent)은 여기서 못 고쳐서 MemberSnapshotService 가 DB 에서 다시 읽는다
+         */
+        View apply(List<ChangeEvent> events) {
+            Map<Long, MemberTeamDto> nextChanged = new HashMap<>(changed);
+            Map<Long, String> nextTeamNames = new HashMap<>(teamNames);
+            for (ChangeEvent event : events) {
+                if (event instanceof MemberChangeEvent) {
+                    MemberChangeEvent memberChange = (MemberChangeEvent) event;
+                    MemberState after = memberChange.getAfter();
+                    nextChanged.put(memberChange.getMemberId(), after == null ? null
+                            : new MemberTeamDto(after.getMemberId(), after.getUsername(), after.getAge(), after.getTeamId(), after.getTeamName()));
+                } else if (event instanceof TeamChangeEvent) {
+                    TeamChangeEvent teamChange = (TeamChangeEvent) event;
+                    if (teamChange.getType() == TeamChangeEvent.Type.UPDATED && teamChange.getAfter().getName() != null) {
+                        nextTeamNames.put(teamChange.getTeamId(), teamChange.getAfter().getName());
+                    }
+                }
+            }
+            return new View(store, nextChanged, nextTeamNames);
+        }
+
+        void forEach(Consumer<? super MemberTeamRow> consumer) {
+            store.forEach(row -> {
+                if (!changed.containsKey(row.getMemberId())) {
+                    consumer.accept(withTeamName(row));
+                }
+            });
+            for (MemberTeamDto dto : changed.values()) {
+                if (dto != null) {
+                    consumer.accept(withTeamName(dto));
+                }
+            }
+        }
+
+        private MemberTeamRow withTeamName(MemberTeamRow row) {
+            String teamName = row.getTeamId() != null ? teamNames.get(row.getTeamId()) : null;
+            if (teamName == null || teamName.equals(row.getTeamName())) {
+                return row;
+            }
+            return new MemberTeamDto(row.getMemberId(), row.getUsername(), row.getAge(), row.getTeamId(), teamName);
+        }
+    }
+}
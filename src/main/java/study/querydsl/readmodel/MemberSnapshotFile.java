@@ -0,0 +1,58 @@
+package study.querydsl.readmodel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * fileName    : MemberSnapshotFile
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : OffHeapMemberStore 버퍼를 파일로 내리고, mmap 으로 다시 올린다.
+ * 포맷은 OffHeapMemberStore 버퍼 그대로라 읽을 때 파싱/복사가 없다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오전  hyechan        최초 생성
+ */
+public final class MemberSnapshotFile {
+
+    private MemberSnapshotFile() {
+    }
+
+    /**
+     * 임시 파일에 다 쓴 다음 rename 한다. 쓰다 죽어도 기존 스냅샷은 멀쩡하다.
+     */
+    public static void write(OffHeapMemberStore store, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = store.asReadOnlyBuffer();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * 파일을 read-only 로 mmap 한다. 채널은 닫아도 매핑은 GC 될 때까지 유효하다.
+     */
+    public static OffHeapMemberStore map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return OffHeapMemberStore.wrap(buffer);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package study.querydsl.readmodel;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * fileName    : MemberSnapshotProperties
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : member.snapshot.* 설정
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오전  hyechan        최초 생성
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "member.snapshot")
+public class MemberSnapshotProperties {
+    private boolean enabled = false;
+    private String path = System.getProperty("java.io.tmpdir") + "/querydsl-member.snapshot";
+    private long writeIntervalMs = 300_000;
+    // DB 에서 읽어올 때 keyset 페이지 크기
+    private int loadChunkSize = 10_000;
+    // 벌크 변경/실패 뒤 DB 에서 다시 읽기 전까지 기다리는 시간. 이 사이 요청은 한 번에 반영
+    private long refreshDelayMs = 1_000;
+    // 읽기 모델에 쌓인 변경 회원 수가 이만큼이면 저장소와 합친다
+    private int compactThreshold = 10_000;
+}
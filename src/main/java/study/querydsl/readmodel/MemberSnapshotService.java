@@ -0,0 +1,189 @@
+package study.querydsl.readmodel;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import study.querydsl.event.BulkChangeEvent;
+import study.querydsl.event.ChangeBatch;
+import study.querydsl.event.ChangeFeedListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * fileName    : MemberSnapshotService
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 재시작 직후 캐시가 비어서 DB 가 두들겨 맞는 걸 막는다.
+ * 1. 기동할 때 스냅샷 파일이 있으면 mmap 해서 바로 MemberReadModel 에 올림
+ * 2. 기동이 끝나면 백그라운드에서 DB 전체를 다시 읽어 최신으로 교체
+ * 3. 그 뒤로는 ChangeFeed 의 member/team 변경을 MemberReadModel 변경분에 바로 반영한다 (DB 안 감).
+ *    변경분이 compact-threshold 를 넘으면 백그라운드에서 저장소와 합친다.
+ * 4. 어느 회원이 바뀌었는지 모르는 벌크 변경(BulkChangeEvent)이나 동기화 실패 뒤에만 DB 전체를 다시 읽는다.
+ *    refresh-delay-ms 동안 모인 요청은 한 번에, 다시 읽는 동안 온 이벤트는 새 저장소 위에 다시 적용
+ * 5. write-interval-ms 마다 현재 읽기 모델을 스냅샷 파일로 저장. 마지막 동기화가 실패했으면 저장 안 함
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오전  hyechan        최초 생성
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "member.snapshot", name = "enabled", havingValue = "true")
+public class MemberSnapshotService implements ChangeFeedListener {
+
+    private final MemberReadModel readModel;
+    private final MemberSnapshotProperties properties;
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "member-snapshot-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final AtomicBoolean compactQueued = new AtomicBoolean();
+    // 종료 중. 새 백그라운드 작업을 안 넣는다 (refresher 는 이미 shutdown)
+    private volatile boolean closing;
+    // DB 에 읽기 모델에 없는 변경이 있다
+    private volatile boolean stale;
+    private volatile boolean lastRefreshFailed;
+
+    @PostConstruct
+    public void load() {
+        Path path = snapshotPath();
+        if (!Files.exists(path)) {
+            log.info("member snapshot 없음. DB 로딩 끝날 때까지 읽기 모델 비어있음. path={}", path);
+            return;
+        }
+        try {
+            OffHeapMemberStore store = MemberSnapshotFile.map(path);
+            readModel.replace(store);
+            log.info("member snapshot 로드 완료. rows={}, bytes={}, jvm 시작 후 {}ms",
+                    store.size(), store.byteSize(), ManagementFactory.getRuntimeMXBean().getUptime());
+        } catch (IOException | RuntimeException e) {
+            // 깨진 스냅샷은 무시하고 DB 에서 다시 만든다.
+            log.warn("member snapshot 로드 실패. path={}", path, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshInBackground() {
+        stale = true;
+        if (closing) {
+            return;
+        }
+        if (refreshQueued.compareAndSet(false, true)) {
+            refresher.execute(this::refreshWhileStale);
+        }
+    }
+
+    @Override
+    public void onChanges(ChangeBatch batch) {
+        if (batch.getEvents().stream().anyMatch(event -> event instanceof BulkChangeEvent)) {
+            refreshInBackground();
+            return;
+        }
+        readModel.apply(batch.getEvents());
+        if (readModel.pendingChanges() >= properties.getCompactThreshold()) {
+            compactInBackground();
+        }
+    }
+
+    private void compactInBackground() {
+        if (closing || !compactQueued.compareAndSet(false, true)) {
+            return;
+        }
+        refresher.execute(() -> {
+            compactQueued.set(false);
+            readModel.compact();
+        });
+    }
+
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        readModel.beginReload();
+        OffHeapMemberStore store;
+        try {
+            store = readModel.loadFromDatabase(properties.getLoadChunkSize());
+        } catch (RuntimeException e) {
+            readModel.abortReload();
+            throw e;
+        }
+        readModel.replace(store);
+        log.info("member read model DB 동기화 완료. rows={}, {}ms", store.size(), System.currentTimeMillis() - start);
+    }
+
+    // stale 을 먼저 내리고 읽으니, 읽는 도중 커밋된 변경은 stale 을 다시 올려서 한 번 더 돈다
+    private void refreshWhileStale() {
+        try {
+            while (stale) {
+                Thread.sleep(properties.getRefreshDelayMs());
+                stale = false;
+                refresh();
+                lastRefreshFailed = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            // 다음 변경이나 다음 write 주기에 다시 시도한다
+            stale = true;
+            lastRefreshFailed = true;
+            log.error("member read model DB 동기화 실패. 스냅샷 저장을 멈추고 다시 시도 대기", e);
+            return;
+        } finally {
+            refreshQueued.set(false);
+        }
+        // 루프를 나온 뒤 refreshQueued 를 내리기 전에 들어온 변경
+        if (stale) {
+            refreshInBackground();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${member.snapshot.write-interval-ms:300000}",
+            initialDelayString = "${member.snapshot.write-interval-ms:300000}")
+    public void write() {
+        if (lastRefreshFailed) {
+            if (closing) {
+                log.warn("member read model 이 DB 와 안 맞아서 종료 전 snapshot 저장 건너뜀. 기존 snapshot 유지");
+                return;
+            }
+            log.warn("member read model 이 DB 와 안 맞아서 snapshot 저장 건너뜀. 다시 동기화 시도");
+            refreshInBackground();
+            return;
+        }
+        OffHeapMemberStore store = readModel.current();
+        if (store == null) {
+            return;
+        }
+        try {
+            MemberSnapshotFile.write(store, snapshotPath());
+        } catch (IOException e) {
+            log.warn("member snapshot 저장 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closing = true;
+        refresher.shutdownNow();
+        write();
+    }
+
+    private Path snapshotPath() {
+        return Paths.get(properties.getPath());
+    }
+}
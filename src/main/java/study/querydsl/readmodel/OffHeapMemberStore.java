@@ -0,0 +1,365 @@
+package study.querydsl.readmodel;
+
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberTeamRow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * fileName    : OffHeapMemberStore
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : MemberTeamDto 행들을 힙 밖(direct ByteBuffer)에 저장하는 불변 저장소.
+ * 수백만 건 DTO를 힙에 올리면 GC가 전부 훑어야 하니까 버퍼 하나로 몰아넣는다.
+ *
+ * 레이아웃 (little endian)
+ *   header  : magic(int) | version(int) | count(int) | stringRegionOffset(int)
+ *   records : count * [memberId(long) | teamId(long) | age(int) | usernameRef(int) | teamNameRef(int) | pad(int)]
+ *   strings : [length(int) | utf-8 bytes] ... 같은 문자열은 한 번만 저장(intern)
+ * null 은 id 는 NULL_ID, 문자열 ref 는 -1 로 표현한다.
+ *
+ * 버퍼 전체가 자기완결적이라 그대로 파일에 쓰고 mmap 으로 다시 열 수 있다. (MemberSnapshotFile)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 10:00 오전  hyechan        최초 생성
+ */
+public final class OffHeapMemberStore {
+
+    static final int MAGIC = 0x4D454D42; // "MEMB"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+    // 버퍼 하나에 int 오프셋이라 헤더 + 레코드 + 문자열 합이 이걸 넘으면 안 된다
+    static final long MAX_STORE_BYTES = Integer.MAX_VALUE;
+
+    static final long NULL_ID = Long.MIN_VALUE;
+    static final int NULL_REF = -1;
+
+    private static final int MEMBER_ID = 0;
+    private static final int TEAM_ID = 8;
+    private static final int AGE = 16;
+    private static final int USERNAME_REF = 20;
+    private static final int TEAM_NAME_REF = 24;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int stringRegionOffset;
+
+    private OffHeapMemberStore(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int limit = this.buffer.limit();
+        if (limit < HEADER_SIZE || this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("member store 포맷이 아닙니다.");
+        }
+        this.size = this.buffer.getInt(8);
+        this.stringRegionOffset = this.buffer.getInt(12);
+        // 레코드 영역이 헤더 바로 뒤에서 string region 직전까지 꽉 차 있어야 하고, 둘 다 버퍼 안이어야 한다
+        long recordsEnd = HEADER_SIZE + (long) size * RECORD_SIZE;
+        if (size < 0 || recordsEnd != stringRegionOffset || recordsEnd > limit) {
+            throw new IllegalArgumentException("member store 헤더가 버퍼와 맞지 않습니다. count=" + size
+                    + ", stringRegionOffset=" + stringRegionOffset + ", limit=" + limit);
+        }
+        checkStringRegion(limit);
+    }
+
+    // [length | bytes] 를 끝까지 따라가서 버퍼 끝에 딱 맞게 끝나는지. 레코드는 안 읽는다 (mmap 페이지를 다 건드리지 않게)
+    private void checkStringRegion(int limit) {
+        long offset = stringRegionOffset;
+        while (offset < limit) {
+            int length = offset + 4 <= limit ? buffer.getInt((int) offset) : -1;
+            if (length < 0 || offset + 4 + length > limit) {
+                throw new IllegalArgumentException("member store 문자열 영역이 잘렸습니다. offset=" + offset + ", limit=" + limit);
+            }
+            offset += 4 + length;
+        }
+    }
+
+    /**
+     * 이미 만들어진 버퍼(mmap 파일 포함)를 그대로 감싼다. 복사하지 않는다.
+     * 헤더와 영역 경계가 버퍼 크기와 안 맞으면(잘린 파일 등) IllegalArgumentException.
+     */
+    public static OffHeapMemberStore wrap(ByteBuffer buffer) {
+        return new OffHeapMemberStore(buffer);
+    }
+
+    public static OffHeapMemberStore of(Iterable<? extends MemberTeamRow> rows) {
+        Builder builder = builder();
+        for (MemberTeamRow row : rows) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+
+    public static OffHeapMemberStore empty() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder(MAX_STORE_BYTES);
+    }
+
+    // 테스트에서 한도를 작게
+    static Builder builder(long maxBytes) {
+        return new Builder(maxBytes);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * index 위치를 가리키는 뷰. 문자열은 getter 호출 시점에 디코딩한다.
+     */
+    public MemberTeamRow get(int index) {
+        OffHeapMemberTeamView view = new OffHeapMemberTeamView(this);
+        view.moveTo(index);
+        return view;
+    }
+
+    public MemberTeamDto toDto(int index) {
+        MemberTeamRow row = get(index);
+        return new MemberTeamDto(row.getMemberId(), row.getUsername(), row.getAge(), row.getTeamId(), row.getTeamName());
+    }
+
+    /**
+     * 뷰 하나를 재사용하며 순회한다. consumer 밖으로 row 를 들고 나가면 안 된다.
+     */
+    public void forEach(Consumer<? super MemberTeamRow> consumer) {
+        OffHeapMemberTeamView view = new OffHeapMemberTeamView(this);
+        for (int i = 0; i < size; i++) {
+            view.moveTo(i);
+            consumer.accept(view);
+        }
+    }
+
+    /**
+     * 스냅샷 파일로 쓰기 위한 읽기 전용 사본. position 0 ~ limit 이 저장소 전체다.
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        ByteBuffer copy = buffer.asReadOnlyBuffer();
+        copy.position(0);
+        return copy;
+    }
+
+    public int byteSize() {
+        return buffer.limit();
+    }
+
+    // -- OffHeapMemberTeamView 에서 쓰는 절대 위치 읽기
+
+    long memberId(int index) {
+        return buffer.getLong(recordOffset(index) + MEMBER_ID);
+    }
+
+    long teamId(int index) {
+        return buffer.getLong(recordOffset(index) + TEAM_ID);
+    }
+
+    int age(int index) {
+        return buffer.getInt(recordOffset(index) + AGE);
+    }
+
+    int usernameRef(int index) {
+        return buffer.getInt(recordOffset(index) + USERNAME_REF);
+    }
+
+    int teamNameRef(int index) {
+        return buffer.getInt(recordOffset(index) + TEAM_NAME_REF);
+    }
+
+    String string(int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        if (ref < stringRegionOffset || ref > buffer.limit() - 4) {
+            throw new IllegalStateException("문자열 영역 밖을 가리키는 ref 입니다. ref=" + ref);
+        }
+        int length = buffer.getInt(ref);
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(ref + 4);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    public static final class Builder {
+
+        private GrowableBuffer records = new GrowableBuffer(RECORD_SIZE * 1024);
+        private GrowableBuffer strings = new GrowableBuffer(16 * 1024);
+        // 빌드하는 동안만 쓰는 intern 테이블, build() 후에는 버린다.
+        private Map<String, Integer> interned = new HashMap<>();
+        private int count;
+        private final long maxBytes;
+
+        private Builder(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public Builder add(MemberTeamRow row) {
+            return add(row.getMemberId(), row.getUsername(), row.getAge(), row.getTeamId(), row.getTeamName());
+        }
+
+        public Builder add(Long memberId, String username, int age, Long teamId, String teamName) {
+            if (records == null) {
+                throw new IllegalStateException("이미 build() 된 Builder 입니다.");
+            }
+            // 쓰기 전에 한도를 본다. 넘치면 아무것도 안 쓴 채로 예외라 Builder 는 그대로 쓸 수 있다
+            byte[] usernameBytes = newString(username);
+            byte[] teamNameBytes = teamName != null && teamName.equals(username) ? null : newString(teamName);
+            checkTotalSize(RECORD_SIZE + stringSize(usernameBytes) + stringSize(teamNameBytes));
+
+            records.putLong(memberId != null ? memberId : NULL_ID);
+            records.putLong(teamId != null ? teamId : NULL_ID);
+            records.putInt(age);
+            records.putInt(intern(username, usernameBytes));
+            records.putInt(intern(teamName, teamNameBytes));
+            records.putInt(0);
+            count++;
+            return this;
+        }
+
+        public OffHeapMemberStore build() {
+            if (records == null) {
+                throw new IllegalStateException("이미 build() 된 Builder 입니다.");
+            }
+            checkTotalSize(0);
+            int recordBytes = records.position();
+            int stringRegionOffset = HEADER_SIZE + recordBytes;
+            ByteBuffer target = ByteBuffer.allocateDirect(stringRegionOffset + strings.position())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            target.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(count)
+                    .putInt(stringRegionOffset);
+            target.put(records.flip());
+
+            // 문자열 ref 는 string region 기준 상대 위치로 적어뒀으니 절대 위치로 바꾼다.
+            for (int i = 0; i < count; i++) {
+                int recordOffset = HEADER_SIZE + i * RECORD_SIZE;
+                relocate(target, recordOffset + USERNAME_REF, stringRegionOffset);
+                relocate(target, recordOffset + TEAM_NAME_REF, stringRegionOffset);
+            }
+            target.position(stringRegionOffset);
+            target.put(strings.flip());
+            target.clear();
+
+            records = null;
+            strings = null;
+            interned = null;
+            return new OffHeapMemberStore(target);
+        }
+
+        // 레코드 영역, 문자열 영역이 각각은 2GB 안이어도 합치면 넘을 수 있다 (버퍼 하나, int 오프셋)
+        private void checkTotalSize(long pendingBytes) {
+            long total = (long) HEADER_SIZE + records.position() + strings.position() + pendingBytes;
+            if (total > maxBytes) {
+                throw new IllegalStateException("member store 는 " + maxBytes + " bytes 를 넘을 수 없습니다. "
+                        + "members=" + count + ", records=" + records.position() + " bytes, strings="
+                        + strings.position() + " bytes");
+            }
+        }
+
+        // 아직 intern 안 된 문자열이면 utf-8 바이트, 아니면 null
+        private byte[] newString(String value) {
+            if (value == null || interned.containsKey(value)) {
+                return null;
+            }
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static long stringSize(byte[] bytes) {
+            return bytes != null ? 4L + bytes.length : 0;
+        }
+
+        // bytes 는 newString 으로 미리 인코딩해둔 값 (이미 intern 됐으면 null)
+        private int intern(String value, byte[] bytes) {
+            if (value == null) {
+                return NULL_REF;
+            }
+            Integer ref = interned.get(value);
+            if (ref != null) {
+                return ref;
+            }
+            int newRef = strings.position();
+            strings.putInt(bytes.length);
+            strings.put(bytes);
+            interned.put(value, newRef);
+            return newRef;
+        }
+
+        private static void relocate(ByteBuffer target, int refOffset, int base) {
+            int ref = target.getInt(refOffset);
+            if (ref != NULL_REF) {
+                target.putInt(refOffset, base + ref);
+            }
+        }
+    }
+
+    /**
+     * 빌드 중에만 쓰는 direct 버퍼. 모자라면 두 배로 늘린다.
+     */
+    private static final class GrowableBuffer {
+        private ByteBuffer buffer;
+
+        GrowableBuffer(int initialCapacity) {
+            this.buffer = ByteBuffer.allocateDirect(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        int position() {
+            return buffer.position();
+        }
+
+        void putLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void put(byte[] bytes) {
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        ByteBuffer flip() {
+            buffer.flip();
+            return buffer;
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            long required = (long) buffer.position() + bytes;
+            if (required > MAX_STORE_BYTES - HEADER_SIZE) {
+                throw new IllegalStateException("member store 는 " + MAX_STORE_BYTES + " bytes 를 넘을 수 없습니다.");
+            }
+            // 두 배로 늘리다 한도를 넘으면 한도까지만
+            long capacity = Math.min(Math.max((long) buffer.capacity() * 2, required), MAX_STORE_BYTES - HEADER_SIZE);
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package study.querydsl.readmodel;
+
+import study.querydsl.dto.MemberTeamRow;
+
+/**
+ * fileName    : OffHeapMemberTeamView
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : OffHeapMemberStore 의 한 행을 가리키는 flyweight.
+ * moveTo 로 위치만 옮겨가며 재사용하고, 문자열은 getter 를 부를 때만 만든다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 10:00 오전  hyechan        최초 생성
+ */
+final class OffHeapMemberTeamView implements MemberTeamRow {
+
+    private final OffHeapMemberStore store;
+    private int index;
+
+    OffHeapMemberTeamView(OffHeapMemberStore store) {
+        this.store = store;
+    }
+
+    void moveTo(int index) {
+        this.index = index;
+    }
+
+    @Override
+    public Long getMemberId() {
+        long id = store.memberId(index);
+        return id == OffHeapMemberStore.NULL_ID ? null : id;
+    }
+
+    @Override
+    public String getUsername() {
+        return store.string(store.usernameRef(index));
+    }
+
+    @Override
+    public int getAge() {
+        return store.age(index);
+    }
+
+    @Override
+    public Long getTeamId() {
+        long id = store.teamId(index);
+        return id == OffHeapMemberStore.NULL_ID ? null : id;
+    }
+
+    @Override
+    public String getTeamName() {
+        return store.string(store.teamNameRef(index));
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapMemberTeamView(memberId=" + getMemberId() + ", username=" + getUsername()
+                + ", age=" + getAge() + ", teamId=" + getTeamId() + ", teamName=" + getTeamName() + ")";
+    }
+}
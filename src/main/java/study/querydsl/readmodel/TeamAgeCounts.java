@@ -0,0 +1,69 @@
+package study.querydsl.readmodel;
+
+import study.querydsl.dto.TeamStatsDto;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * fileName    : TeamAgeCounts
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 한 팀의 나이별 회원 수. 합계/건수는 따로 들고, 최소/최대는 정렬된 맵의 양 끝.
+ * 삭제가 있어서 min/max 를 값 하나로 들고 있으면 다시 계산해야 하는데, 나이별 건수면 O(log 나이종류) 로 끝난다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:30 오후  hyechan        최초 생성
+ */
+final class TeamAgeCounts {
+
+    private final TreeMap<Integer, Long> countByAge = new TreeMap<>();
+    private long count;
+    private long ageSum;
+
+    synchronized void add(int age, long n) {
+        countByAge.merge(age, n, Long::sum);
+        count += n;
+        ageSum += (long) age * n;
+    }
+
+    synchronized void remove(int age) {
+        Long current = countByAge.get(age);
+        if (current == null) {
+            // 모르는 값 (재계산 전에 들어온 이벤트 등). 다음 재계산에서 맞춰진다
+            return;
+        }
+        if (current == 1) {
+            countByAge.remove(age);
+        } else {
+            countByAge.put(age, current - 1);
+        }
+        count--;
+        ageSum -= age;
+    }
+
+    synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    synchronized TeamStatsDto toDto(Long teamId, String teamName) {
+        return new TeamStatsDto(teamId, teamName, count, ageSum,
+                countByAge.isEmpty() ? null : countByAge.firstKey(),
+                countByAge.isEmpty() ? null : countByAge.lastKey());
+    }
+
+    /**
+     * [from, toExclusive) 나이 회원 수. toExclusive 가 null 이면 끝까지
+     */
+    synchronized long countBetween(int from, Integer toExclusive) {
+        Map<Integer, Long> range = toExclusive != null
+                ? countByAge.subMap(from, true, toExclusive, false)
+                : countByAge.tailMap(from, true);
+        long sum = 0;
+        for (Long n : range.values()) {
+            sum += n;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,101 @@
+package study.querydsl.readmodel;
+
+import study.querydsl.dto.MemberAgeDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * fileName    : TeamLeaderboard
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 한 팀의 나이 많은 순/적은 순 상위 capacity 명. 크기가 제한된 정렬 집합 두 개.
+ * 추가는 넣고 넘치면 끝을 버린다. 꽉 찬 집합에서 빠지면 다음 후보를 모르니 dirty -> 다음 조회 때 DB 에서 다시 만든다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 10:00 오전  hyechan        최초 생성
+ */
+final class TeamLeaderboard {
+
+    static final Comparator<MemberAgeDto> OLDEST_FIRST = Comparator
+            .comparingInt(MemberAgeDto::getAge).reversed()
+            .thenComparing(MemberAgeDto::getMemberId);
+    static final Comparator<MemberAgeDto> YOUNGEST_FIRST = Comparator
+            .comparingInt(MemberAgeDto::getAge)
+            .thenComparing(MemberAgeDto::getMemberId);
+
+    private final int capacity;
+    private final TreeSet<MemberAgeDto> oldest = new TreeSet<>(OLDEST_FIRST);
+    private final TreeSet<MemberAgeDto> youngest = new TreeSet<>(YOUNGEST_FIRST);
+    private boolean dirty;
+
+    TeamLeaderboard(int capacity, Collection<MemberAgeDto> oldest, Collection<MemberAgeDto> youngest) {
+        this.capacity = capacity;
+        this.oldest.addAll(oldest);
+        this.youngest.addAll(youngest);
+    }
+
+    synchronized boolean isDirty() {
+        return dirty;
+    }
+
+    synchronized void add(MemberAgeDto member) {
+        addBounded(oldest, member);
+        addBounded(youngest, member);
+    }
+
+    synchronized void remove(MemberAgeDto member) {
+        removeBounded(oldest, member);
+        removeBounded(youngest, member);
+    }
+
+    /**
+     * 나이는 그대로고 이름만 바뀐 경우. 순위가 안 바뀌니 자리만 바꾼다 (dirty 안 됨)
+     */
+    synchronized void rename(MemberAgeDto member) {
+        if (oldest.remove(member)) {
+            oldest.add(member);
+        }
+        if (youngest.remove(member)) {
+            youngest.add(member);
+        }
+    }
+
+    synchronized List<MemberAgeDto> oldest(int k) {
+        return first(oldest, k);
+    }
+
+    synchronized List<MemberAgeDto> youngest(int k) {
+        return first(youngest, k);
+    }
+
+    private void addBounded(TreeSet<MemberAgeDto> set, MemberAgeDto member) {
+        set.add(member);
+        if (set.size() > capacity) {
+            set.pollLast();
+        }
+    }
+
+    private void removeBounded(TreeSet<MemberAgeDto> set, MemberAgeDto member) {
+        // 꽉 차 있었으면 밖에 다음 후보가 있을 수 있다
+        boolean full = set.size() >= capacity;
+        if (set.remove(member) && full) {
+            dirty = true;
+        }
+    }
+
+    private static List<MemberAgeDto> first(TreeSet<MemberAgeDto> set, int k) {
+        List<MemberAgeDto> result = new ArrayList<>(Math.min(k, set.size()));
+        for (MemberAgeDto member : set) {
+            if (result.size() == k) {
+                break;
+            }
+            result.add(member);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,325 @@
+package study.querydsl.readmodel;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.BulkChangeEvent;
+import study.querydsl.event.ChangeBatch;
+import study.querydsl.event.ChangeEvent;
+import study.querydsl.event.ChangeFeed;
+import study.querydsl.event.ChangeFeedListener;
+import study.querydsl.event.MemberChangeEvent;
+import study.querydsl.event.MemberState;
+import study.querydsl.event.TeamChangeEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * fileName    : TeamStatsReadModel
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 팀별 통계 (QuerydslBasicTest.group 의 groupBy(team.name) 를 매번 안 돌리려고).
+ * MemberChangeEvent 로 추가/삭제/나이 변경/팀 이동을 팀별 카운터에 바로 반영한다. 조회는 팀 수만큼만.
+ * 나이/팀을 바꾸는 벌크 update, 벌크 delete(BulkChangeEvent)가 오면 바로 백그라운드에서 재계산한다.
+ * 이벤트로 못 잡는 변경(직접 SQL, CSV 적재)은 recompute-interval-ms 마다 groupBy 한 번으로 통째로 다시 맞춘다.
+ * 재계산 쿼리가 도는 동안 온 이벤트는 journal 에 모았다가 새 맵으로 바꾼 뒤 다시 적용한다.
+ * 오차 범위: 재계산이 ChangeFeed 밀린 배치를 기다린 뒤(awaitDelivered)부터 groupBy 문장이 시작되기 전까지 커밋된 트랜잭션은
+ * 쿼리 결과에도 있고 다시 적용도 되어서 두 번 셀 수 있다. 그 구간 커밋 건수만큼이고, 다음 재계산에서 맞춰진다.
+ * (전달이 DELIVERY_WAIT_MS 안에 안 끝나면 그때 밀려 있던 배치 수만큼 더)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:30 오후  hyechan        최초 생성
+ */
+@Slf4j
+@Component
+public class TeamStatsReadModel implements ChangeFeedListener {
+
+    // 재계산 전에 밀린 변경 배치를 기다리는 최대 시간
+    private static final long DELIVERY_WAIT_MS = 1_000;
+
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ChangeFeed changeFeed;
+
+    private volatile Map<Long, TeamAgeCounts> countsByTeam = new ConcurrentHashMap<>();
+    // 팀 없는 회원까지 전체 (AgeHistogram 용)
+    private volatile TeamAgeCounts allMembers = new TeamAgeCounts();
+    private volatile Map<Long, String> teamNames = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private final AtomicBoolean recomputeQueued = new AtomicBoolean();
+    // 주기 재계산과 벌크 변경 재계산이 겹치지 않게
+    private final Object recomputeLock = new Object();
+    // 재계산 쿼리가 도는 동안 온 이벤트. null 이면 재계산 중 아님 (this 로 동기화)
+    private List<ChangeEvent> journal;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "team-stats-recompute");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TeamStatsReadModel(JPAQueryFactory queryFactory, PlatformTransactionManager transactionManager,
+                              ChangeFeed changeFeed) {
+        this.queryFactory = queryFactory;
+        this.changeFeed = changeFeed;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * teamId 순. 준비 안 됐으면 DB groupBy 로.
+     */
+    public List<TeamStatsDto> findAll() {
+        if (!ready) {
+            return loadFromDatabase();
+        }
+        List<TeamStatsDto> result = new ArrayList<>(countsByTeam.size());
+        countsByTeam.forEach((teamId, counts) -> {
+            TeamStatsDto dto = counts.toDto(teamId, teamNames.get(teamId));
+            if (dto.getMemberCount() > 0) {
+                result.add(dto);
+            }
+        });
+        result.sort(Comparator.comparing(TeamStatsDto::getTeamId));
+        return result;
+    }
+
+    public TeamStatsDto find(Long teamId) {
+        if (!ready) {
+            List<TeamStatsDto> result = loadFromDatabase(team.id.eq(teamId));
+            return result.isEmpty() ? null : result.get(0);
+        }
+        TeamAgeCounts counts = countsByTeam.get(teamId);
+        return counts != null ? counts.toDto(teamId, teamNames.get(teamId)) : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recomputeInBackground() {
+        // 이미 줄 서 있는 재계산이 있으면 그걸로 충분
+        if (recomputeQueued.compareAndSet(false, true)) {
+            loader.execute(() -> {
+                recomputeQueued.set(false);
+                recompute();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${team-stats.recompute-interval-ms:600000}",
+            initialDelayString = "${team-stats.recompute-interval-ms:600000}")
+    public void scheduledRecompute() {
+        // 공용 스케줄러 스레드를 잡고 있지 않게 loader 로 넘긴다
+        recomputeInBackground();
+    }
+
+    /**
+     * (팀, 나이) 별 건수를 한 번에 읽어서 통째로 교체. 결과는 팀 수 x 나이 종류 만큼이라 작다.
+     * 팀 이름도 새로 읽어서 바꾸므로 지워진 팀 이름이 남지 않는다.
+     */
+    public void recompute() {
+        synchronized (recomputeLock) {
+            long start = System.currentTimeMillis();
+            // 이미 커밋됐는데 아직 안 온 배치가 쿼리 결과와 journal 양쪽에 들어가지 않게 먼저 비운다
+            if (!changeFeed.awaitDelivered(DELIVERY_WAIT_MS)) {
+                log.warn("team stats 재계산 전 변경 피드 전달 대기 시간 초과. backlog={}", changeFeed.backlog());
+            }
+            synchronized (this) {
+                journal = new ArrayList<>();
+            }
+            Map<Long, TeamAgeCounts> fresh = new ConcurrentHashMap<>();
+            TeamAgeCounts freshAll = new TeamAgeCounts();
+            Map<Long, String> freshNames = new ConcurrentHashMap<>();
+            try {
+                load(fresh, freshAll, freshNames);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    journal = null;
+                }
+                throw e;
+            }
+            int replayed;
+            synchronized (this) {
+                List<ChangeEvent> missed = journal;
+                journal = null;
+                countsByTeam = fresh;
+                allMembers = freshAll;
+                teamNames = freshNames;
+                for (ChangeEvent event : missed) {
+                    if (event instanceof MemberChangeEvent) {
+                        onMemberChange((MemberChangeEvent) event);
+                    } else {
+                        onTeamChange((TeamChangeEvent) event);
+                    }
+                }
+                replayed = missed.size();
+                ready = true;
+            }
+            log.info("team stats 재계산 완료. teams={}, replayed={}, {}ms",
+                    fresh.size(), replayed, System.currentTimeMillis() - start);
+        }
+    }
+
+    private void load(Map<Long, TeamAgeCounts> fresh, TeamAgeCounts freshAll, Map<Long, String> freshNames) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            List<Tuple> rows = queryFactory
+                    .select(member.team.id, member.age, member.count())
+                    .from(member)
+                    .groupBy(member.team.id, member.age)
+                    .fetch();
+            for (Tuple row : rows) {
+                Long teamId = row.get(member.team.id);
+                int age = row.get(member.age);
+                long count = row.get(member.count());
+                freshAll.add(age, count);
+                if (teamId != null) {
+                    fresh.computeIfAbsent(teamId, id -> new TeamAgeCounts()).add(age, count);
+                }
+            }
+            for (Tuple row : queryFactory.select(team.id, team.name).from(team).fetch()) {
+                freshNames.put(row.get(team.id), row.get(team.name));
+            }
+        });
+    }
+
+    @Override
+    public void onChanges(ChangeBatch batch) {
+        for (ChangeEvent event : batch.getEvents()) {
+            if (event instanceof MemberChangeEvent) {
+                onMemberChange((MemberChangeEvent) event);
+            } else if (event instanceof TeamChangeEvent) {
+                onTeamChange((TeamChangeEvent) event);
+            } else if (event instanceof BulkChangeEvent) {
+                onBulkChange((BulkChangeEvent) event);
+            }
+        }
+    }
+
+    synchronized void onTeamChange(TeamChangeEvent event) {
+        if (journal != null) {
+            journal.add(event);
+        }
+        if (event.getAfter() != null) {
+            if (event.getAfter().getName() != null) {
+                teamNames.put(event.getTeamId(), event.getAfter().getName());
+            }
+        } else {
+            teamNames.remove(event.getTeamId());
+        }
+    }
+
+    void onBulkChange(BulkChangeEvent event) {
+        if ((event.isFor(Member.class) && (event.touches("age") || event.touches("team")))
+                || (event.isFor(Team.class) && event.touches("name"))) {
+            recomputeInBackground();
+        }
+    }
+
+    public synchronized void onMemberChange(MemberChangeEvent event) {
+        if (journal != null) {
+            journal.add(event);
+        }
+        MemberState before = event.getBefore();
+        MemberState after = event.getAfter();
+        if (event.getType() == MemberChangeEvent.Type.UPDATED && before == null) {
+            // 이전 값을 모르면 뺄 수가 없다. 다음 재계산까지 그대로
+            log.debug("이전 상태 없는 member 변경. 재계산 때 반영. memberId={}", event.getMemberId());
+            return;
+        }
+        if (before != null && after != null
+                && before.getAge() == after.getAge() && Objects.equals(before.getTeamId(), after.getTeamId())) {
+            rememberTeamName(after);
+            return;
+        }
+        if (before != null) {
+            allMembers.remove(before.getAge());
+            if (before.getTeamId() != null) {
+                remove(before.getTeamId(), before.getAge());
+            }
+        }
+        if (after != null) {
+            allMembers.add(after.getAge(), 1);
+            if (after.getTeamId() != null) {
+                rememberTeamName(after);
+                add(after.getTeamId(), after.getAge());
+            }
+        }
+    }
+
+    /**
+     * [from, toExclusive) 나이 회원 수. teamId 가 null 이면 전체 회원
+     */
+    long countBetween(Long teamId, int from, Integer toExclusive) {
+        TeamAgeCounts counts = teamId != null ? countsByTeam.get(teamId) : allMembers;
+        return counts != null ? counts.countBetween(from, toExclusive) : 0;
+    }
+
+    private void add(Long teamId, int age) {
+        countsByTeam.compute(teamId, (id, counts) -> {
+            TeamAgeCounts target = counts != null ? counts : new TeamAgeCounts();
+            target.add(age, 1);
+            return target;
+        });
+    }
+
+    private void remove(Long teamId, int age) {
+        countsByTeam.computeIfPresent(teamId, (id, counts) -> {
+            counts.remove(age);
+            return counts.isEmpty() ? null : counts;
+        });
+    }
+
+    private void rememberTeamName(MemberState state) {
+        if (state.getTeamId() != null && state.getTeamName() != null) {
+            teamNames.put(state.getTeamId(), state.getTeamName());
+        }
+    }
+
+    // 준비되기 전 / 재계산과 비교용
+    public List<TeamStatsDto> loadFromDatabase() {
+        return loadFromDatabase(null);
+    }
+
+    private List<TeamStatsDto> loadFromDatabase(Predicate where) {
+        List<Tuple> rows = queryFactory
+                .select(team.id, team.name, member.count(), member.age.sum(), member.age.min(), member.age.max())
+                .from(member)
+                .join(member.team, team)
+                .where(where)
+                .groupBy(team.id, team.name)
+                .orderBy(team.id.asc())
+                .fetch();
+        List<TeamStatsDto> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            // sum(int) 은 Long 으로 온다
+            Number sum = row.get(3, Number.class);
+            result.add(new TeamStatsDto(row.get(team.id), row.get(team.name), row.get(member.count()),
+                    sum != null ? sum.longValue() : 0, row.get(4, Integer.class), row.get(5, Integer.class)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package study.querydsl.readmodel;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberAgeDto;
+import study.querydsl.dto.TeamTopMembersDto;
+import study.querydsl.entity.Member;
+import study.querydsl.event.BulkChangeEvent;
+import study.querydsl.event.ChangeBatch;
+import study.querydsl.event.ChangeEvent;
+import study.querydsl.event.ChangeFeedListener;
+import study.querydsl.event.MemberChangeEvent;
+import study.querydsl.event.MemberState;
+import study.querydsl.event.TeamChangeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * fileName    : TeamTopMembers
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 팀별 나이 많은/적은 순 상위 k 명 (QuerydslBasicTest.subQuery 의 max(age) 를 k 명으로).
+ * 팀을 처음 조회할 때 DB 에서 팀별 limit 쿼리 두 번으로 만들고 (idx_member_team_age), 이후엔 MemberChangeEvent 로 갱신한다.
+ * 조회 비용은 k 에만 비례. 상위권에서 빠져서 빈자리가 생긴 팀(dirty)은 다음 조회 때 다시 만든다.
+ * 나이/팀/이름을 바꾸는 벌크 update, 벌크 delete 는 어느 팀인지 모르니 전부 버린다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 10:00 오전  hyechan        최초 생성
+ */
+@Slf4j
+@Component
+public class TeamTopMembers implements ChangeFeedListener {
+
+    private final JPAQueryFactory queryFactory;
+    private final int capacity;
+
+    private final Map<Long, TeamLeaderboard> boards = new ConcurrentHashMap<>();
+    // 팀별 변경 횟수. DB 로 다시 만드는 동안 이벤트가 끼면 그 결과는 캐시하지 않는다.
+    // 올리는 쪽(update)과 확인하는 쪽(rebuild) 모두 boards.compute 안이라 같은 팀끼리는 엇갈리지 않는다
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    // 전체를 버릴 때 올린다
+    private final AtomicLong epoch = new AtomicLong();
+
+    public TeamTopMembers(JPAQueryFactory queryFactory, @Value("${team-top-members.capacity:10}") int capacity) {
+        this.queryFactory = queryFactory;
+        this.capacity = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @param k 최대 capacity 까지
+     */
+    public TeamTopMembersDto top(Long teamId, int k) {
+        int size = Math.max(1, Math.min(k, capacity));
+        TeamLeaderboard board = boards.get(teamId);
+        if (board == null || board.isDirty()) {
+            board = rebuild(teamId);
+        }
+        return new TeamTopMembersDto(teamId, board.oldest(size), board.youngest(size));
+    }
+
+    TeamLeaderboard rebuild(Long teamId) {
+        long currentEpoch = epoch.get();
+        Long version = versions.get(teamId);
+        TeamLeaderboard board = new TeamLeaderboard(capacity,
+                load(teamId, member.age.desc(), member.id.asc()),
+                load(teamId, member.age.asc(), member.id.asc()));
+        boards.compute(teamId, (id, existing) ->
+                currentEpoch == epoch.get() && Objects.equals(version, versions.get(id)) ? board : existing);
+        return board;
+    }
+
+    private List<MemberAgeDto> load(Long teamId, OrderSpecifier<?>... orders) {
+        return queryFactory
+                .select(Projections.constructor(MemberAgeDto.class,
+                        member.id, member.username, member.age))
+                .from(member)
+                .where(member.team.id.eq(teamId))
+                .orderBy(orders)
+                .limit(capacity)
+                .fetch();
+    }
+
+    @Override
+    public void onChanges(ChangeBatch batch) {
+        for (ChangeEvent event : batch.getEvents()) {
+            if (event instanceof MemberChangeEvent) {
+                onMemberChange((MemberChangeEvent) event);
+            } else if (event instanceof TeamChangeEvent) {
+                TeamChangeEvent teamChange = (TeamChangeEvent) event;
+                if (teamChange.getType() == TeamChangeEvent.Type.DELETED) {
+                    boards.compute(teamChange.getTeamId(), (id, board) -> {
+                        touch(id);
+                        return null;
+                    });
+                }
+            } else if (event instanceof BulkChangeEvent) {
+                BulkChangeEvent bulk = (BulkChangeEvent) event;
+                if (bulk.isFor(Member.class)
+                        && (bulk.touches("age") || bulk.touches("team") || bulk.touches("username"))) {
+                    clear();
+                }
+            }
+        }
+    }
+
+    public void onMemberChange(MemberChangeEvent event) {
+        MemberState before = event.getBefore();
+        MemberState after = event.getAfter();
+        if (event.getType() == MemberChangeEvent.Type.UPDATED && before == null) {
+            // 이전 팀/나이를 모르면 어느 보드에 남아 있는지 모른다. 전부 버리고 조회 때 다시 만든다
+            clear();
+            return;
+        }
+        if (before != null && after != null && before.getAge() == after.getAge()
+                && Objects.equals(before.getTeamId(), after.getTeamId())) {
+            if (!Objects.equals(before.getUsername(), after.getUsername()) && after.getTeamId() != null) {
+                update(after.getTeamId(), board -> board.rename(toDto(after)));
+            }
+            return;
+        }
+        if (before != null && before.getTeamId() != null) {
+            update(before.getTeamId(), board -> board.remove(toDto(before)));
+        }
+        if (after != null && after.getTeamId() != null) {
+            update(after.getTeamId(), board -> board.add(toDto(after)));
+        }
+    }
+
+    /**
+     * 버전을 올리고 캐시된 보드가 있으면 고친다. rebuild 가 버전을 확인하고 넣는 것과 같은 키의 compute 라서
+     * 그 사이에 끼어 이벤트가 반영 안 된 보드가 캐시되는 일이 없다
+     */
+    private void update(Long teamId, Consumer<TeamLeaderboard> change) {
+        boards.compute(teamId, (id, board) -> {
+            touch(id);
+            if (board != null) {
+                change.accept(board);
+            }
+            return board;
+        });
+    }
+
+    private void clear() {
+        epoch.incrementAndGet();
+        boards.clear();
+    }
+
+    private void touch(Long teamId) {
+        versions.merge(teamId, 1L, Long::sum);
+    }
+
+    private static MemberAgeDto toDto(MemberState state) {
+        return new MemberAgeDto(state.getMemberId(), state.getUsername(), state.getAge());
+    }
+}
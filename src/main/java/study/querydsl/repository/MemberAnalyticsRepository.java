@@ -0,0 +1,167 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.WindowFunction;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.MemberAnalyticsDto;
+import study.querydsl.entity.QMember;
+import study.querydsl.repository.support.SqlQueryFactory;
+import study.querydsl.sql.SMember;
+import study.querydsl.sql.STeam;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * fileName    : MemberAnalyticsRepository
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 팀 기준 회원 분석 (팀 평균 나이, 팀 내 나이 순위, 팀 평균보다 나이 많은 회원).
+ * QuerydslBasicTest.selectSubQuery/subQueryGoe 처럼 JPAExpressions 상관 서브쿼리로 하면 행마다 서브쿼리가 돈다.
+ * window function 되는 DB 면 JPASQLQuery 로 member 를 한 번만 읽는다. 안 되면 상관 서브쿼리(JPA) 로.
+ * 팀 없는 회원은 빠진다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오후  hyechan        최초 생성
+ */
+@Repository
+public class MemberAnalyticsRepository {
+
+    private static final SMember m = SMember.member;
+    private static final STeam t = STeam.team;
+
+    private final SqlQueryFactory sqlQueryFactory;
+    private final JPAQueryFactory queryFactory;
+
+    public MemberAnalyticsRepository(SqlQueryFactory sqlQueryFactory, JPAQueryFactory queryFactory) {
+        this.sqlQueryFactory = sqlQueryFactory;
+        this.queryFactory = queryFactory;
+    }
+
+    /**
+     * @param teamId null 이면 전체 팀
+     */
+    public List<MemberAnalyticsDto> findMemberAnalytics(Long teamId) {
+        return sqlQueryFactory.dialect().supportsWindowFunctions()
+                ? findMemberAnalyticsWindow(teamId)
+                : findMemberAnalyticsJpa(teamId);
+    }
+
+    public List<MemberAnalyticsDto> findOlderThanTeamAverage() {
+        return sqlQueryFactory.dialect().supportsWindowFunctions()
+                ? findOlderThanTeamAverageWindow()
+                : findOlderThanTeamAverageJpa();
+    }
+
+    List<MemberAnalyticsDto> findMemberAnalyticsWindow(Long teamId) {
+        List<Tuple> rows = sqlQueryFactory.query()
+                .select(m.memberId, m.username, m.age, t.id, t.name, teamAvgAge(), ageRank())
+                .from(m)
+                .join(t).on(m.teamId.eq(t.id))
+                // 파티션이 팀 단위라 팀으로 거르는 건 결과에 영향 없음
+                .where(teamId != null ? m.teamId.eq(teamId) : null)
+                .orderBy(t.id.asc(), m.age.desc(), m.memberId.asc())
+                .fetch();
+        return toDtos(rows);
+    }
+
+    /**
+     * select * from (select ..., avg(age) over (partition by team_id) team_avg_age ...) x where x.age > x.team_avg_age
+     * where 절에서 window function 을 못 써서 from 서브쿼리로 한 번 감싼다.
+     */
+    List<MemberAnalyticsDto> findOlderThanTeamAverageWindow() {
+        NumberPath<Double> avgAlias = Expressions.numberPath(Double.class, "TEAM_AVG_AGE");
+        NumberPath<Long> rankAlias = Expressions.numberPath(Long.class, "AGE_RANK");
+
+        PathBuilder<Object> x = new PathBuilder<>(Object.class, "x");
+        NumberPath<Long> memberId = x.getNumber("MEMBER_ID", Long.class);
+        NumberPath<Integer> age = x.getNumber("AGE", Integer.class);
+        NumberPath<Long> teamId = x.getNumber("ID", Long.class);
+        NumberPath<Double> avg = x.getNumber(avgAlias.getMetadata().getName(), Double.class);
+
+        List<Tuple> rows = sqlQueryFactory.query()
+                .select(memberId, x.getString("USERNAME"), age, teamId, x.getString("NAME"), avg,
+                        x.getNumber(rankAlias.getMetadata().getName(), Long.class))
+                .from(SQLExpressions
+                        .select(m.memberId, m.username, m.age, t.id, t.name,
+                                teamAvgAge().as(avgAlias), ageRank().as(rankAlias))
+                        .from(m)
+                        .join(t).on(m.teamId.eq(t.id)), x)
+                .where(age.gt(avg))
+                .orderBy(teamId.asc(), age.desc(), memberId.asc())
+                .fetch();
+        return toDtos(rows);
+    }
+
+    // 정수 avg 는 DB 에 따라 정수로 잘려서 double 로 바꿔서 평균
+    private static WindowFunction<Double> teamAvgAge() {
+        return SQLExpressions.avg(m.age.castToNum(Double.class)).over().partitionBy(m.teamId);
+    }
+
+    private static WindowFunction<Long> ageRank() {
+        return SQLExpressions.rank().over().partitionBy(m.teamId).orderBy(m.age.desc());
+    }
+
+    // window function 없는 DB 용. 행마다 상관 서브쿼리가 돈다
+    List<MemberAnalyticsDto> findMemberAnalyticsJpa(Long teamId) {
+        return jpaAnalytics(teamId != null ? team.id.eq(teamId) : null);
+    }
+
+    List<MemberAnalyticsDto> findOlderThanTeamAverageJpa() {
+        QMember sub = new QMember("sub");
+        return jpaAnalytics(member.age.gt(JPAExpressions
+                .select(sub.age.avg())
+                .from(sub)
+                .where(sub.team.eq(member.team))));
+    }
+
+    private List<MemberAnalyticsDto> jpaAnalytics(Predicate where) {
+        QMember sub = new QMember("sub");
+        List<Tuple> rows = queryFactory
+                .select(member.id, member.username, member.age, team.id, team.name,
+                        JPAExpressions.select(sub.age.avg()).from(sub).where(sub.team.eq(member.team)),
+                        JPAExpressions.select(sub.count()).from(sub).where(sub.team.eq(member.team), sub.age.gt(member.age)))
+                .from(member)
+                .join(member.team, team)
+                .where(where)
+                .orderBy(team.id.asc(), member.age.desc(), member.id.asc())
+                .fetch();
+
+        List<MemberAnalyticsDto> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            // rank() = 나보다 나이 많은 사람 수 + 1
+            result.add(new MemberAnalyticsDto(row.get(0, Long.class), row.get(1, String.class),
+                    row.get(2, Integer.class), row.get(3, Long.class), row.get(4, String.class),
+                    row.get(5, Double.class), row.get(6, Long.class) + 1));
+        }
+        return result;
+    }
+
+    private static List<MemberAnalyticsDto> toDtos(List<Tuple> rows) {
+        List<MemberAnalyticsDto> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            // 네이티브 쿼리라 숫자 타입은 드라이버마다 다르다. Number 로 받아서 변환
+            Number avg = row.get(5, Number.class);
+            result.add(new MemberAnalyticsDto(
+                    row.get(0, Number.class).longValue(),
+                    row.get(1, String.class),
+                    row.get(2, Number.class).intValue(),
+                    row.get(3, Number.class).longValue(),
+                    row.get(4, String.class),
+                    avg != null ? avg.doubleValue() : null,
+                    row.get(6, Number.class).longValue()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.hibernate.HibernateQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import study.querydsl.entity.Member;
+import study.querydsl.event.ChangeEvent;
+import study.querydsl.event.ChangeFeed;
+import study.querydsl.event.MemberChangeEvent;
+import study.querydsl.event.MemberState;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * fileName    : MemberBatchRepository
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 대량 배치 작업용 member 읽기/쓰기. 하이버네이트 StatelessSession 이라 영속성 컨텍스트가 없다.
+ * MemberJpaRepository.findAll/save 로 수백만 건을 돌리면 1차 캐시가 끝없이 커지고, flush 마다 필요 없는 dirty checking 을 한다.
+ * 1. scroll : member_id 순 커서로 한 건씩. 읽은 엔티티는 아무도 안 잡고 있어서 처리하고 나면 GC 대상
+ * 2. insert/update : jdbc batch, 청크(batch-size)마다 트랜잭션 하나
+ * 3. reprocess : scroll + 바뀐 것만 update. 읽기 세션과 쓰기 세션을 따로 둬서 커서를 연 채로 청크마다 커밋한다
+ * 주의
+ * - 엔티티 콜백(@PrePersist 등), Hibernate 이벤트가 없다. username_normalized 는 여기서 맞추고,
+ *   변경은 청크 커밋 뒤 ChangeFeed.recordCommitted 로 직접 내보낸다
+ * - 연관 엔티티를 못 불러온다. member.team 은 id 만 쓸 수 있는 프록시 (팀 이름은 teamName 으로)
+ * - 스프링 트랜잭션과 무관하다 (자기 커넥션, 자기 트랜잭션)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 8:00 오후  hyechan        최초 생성
+ */
+@Slf4j
+@Repository
+public class MemberBatchRepository {
+
+    private final SessionFactory sessionFactory;
+    private final ChangeFeed changeFeed;
+    private final int batchSize;
+    private final int fetchSize;
+
+    public MemberBatchRepository(EntityManagerFactory emf, ChangeFeed changeFeed,
+                                 @Value("${member-batch.batch-size:500}") int batchSize,
+                                 @Value("${member-batch.fetch-size:1000}") int fetchSize) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+        this.changeFeed = changeFeed;
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * where(null 이면 전체) 에 맞는 member 를 member_id 순으로 하나씩 넘긴다
+     *
+     * @return 읽은 건수
+     */
+    public long scroll(Predicate where, Consumer<Member> action) {
+        try (StatelessSession reader = sessionFactory.openStatelessSession()) {
+            Transaction tx = reader.beginTransaction();
+            try {
+                long count = 0;
+                try (ScrollableResults results = select(reader, where)) {
+                    while (results.next()) {
+                        action.accept((Member) results.get(0));
+                        count++;
+                    }
+                }
+                tx.commit();
+                return count;
+            } finally {
+                rollbackIfActive(tx);
+            }
+        }
+    }
+
+    /**
+     * team 은 이미 저장돼 있어야 한다
+     */
+    public void insertAll(List<Member> members) {
+        for (int from = 0; from < members.size(); from += batchSize) {
+            List<Member> chunk = members.subList(from, Math.min(from + batchSize, members.size()));
+            List<ChangeEvent> events = new ArrayList<>(chunk.size());
+            write(session -> {
+                for (Member m : chunk) {
+                    m.normalizeUsername();
+                    session.insert(m);
+                }
+            });
+            for (Member m : chunk) {
+                events.add(MemberChangeEvent.created(state(m)));
+            }
+            changeFeed.recordCommitted(events);
+        }
+    }
+
+    /**
+     * 읽으면서 processor 로 고치고, 값이 바뀐 것만 batch-size 씩 모아서 update.
+     * 청크마다 커밋하니 중간에 실패하면 앞 청크들은 반영된 채로 남는다 (다시 돌려도 되게 processor 를 짤 것)
+     *
+     * @return update 한 건수
+     */
+    public long reprocess(Predicate where, Consumer<Member> processor) {
+        long start = System.nanoTime();
+        List<Member> pending = new ArrayList<>(batchSize);
+        List<ChangeEvent> events = new ArrayList<>(batchSize);
+        long[] updated = new long[1];
+        long scanned = scroll(where, m -> {
+            MemberState before = state(m);
+            processor.accept(m);
+            MemberState after = state(m);
+            if (before.equals(after)) {
+                return;
+            }
+            pending.add(m);
+            events.add(MemberChangeEvent.updated(before, after));
+            if (pending.size() == batchSize) {
+                updated[0] += updateChunk(pending, events);
+            }
+        });
+        if (!pending.isEmpty()) {
+            updated[0] += updateChunk(pending, events);
+        }
+        log.info("member 재처리 완료. scanned={}, updated={}, {}ms",
+                scanned, updated[0], (System.nanoTime() - start) / 1_000_000);
+        return updated[0];
+    }
+
+    private int updateChunk(List<Member> pending, List<ChangeEvent> events) {
+        write(session -> {
+            for (Member m : pending) {
+                m.normalizeUsername();
+                session.update(m);
+            }
+        });
+        int size = pending.size();
+        changeFeed.recordCommitted(events);
+        pending.clear();
+        events.clear();
+        return size;
+    }
+
+    private void write(Consumer<StatelessSession> work) {
+        try (StatelessSession writer = sessionFactory.openStatelessSession()) {
+            writer.setJdbcBatchSize(batchSize);
+            Transaction tx = writer.beginTransaction();
+            try {
+                work.accept(writer);
+                // StatelessSession 은 flush 가 없어서 남은 jdbc batch 를 직접 보낸다
+                ((SharedSessionContractImplementor) writer).getJdbcCoordinator().executeBatch();
+                tx.commit();
+            } finally {
+                rollbackIfActive(tx);
+            }
+        }
+    }
+
+    private ScrollableResults select(StatelessSession reader, Predicate where) {
+        return new HibernateQuery<Member>(reader)
+                .select(member)
+                .from(member)
+                .where(where)
+                .orderBy(member.id.asc())
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private static MemberState state(Member m) {
+        // 프록시여도 getId 는 초기화하지 않는다
+        Long teamId = m.getTeam() != null ? m.getTeam().getId() : null;
+        return new MemberState(m.getId(), m.getUsername(), m.getAge(), teamId, m.getTeamName());
+    }
+
+    private static void rollbackIfActive(Transaction tx) {
+        if (tx.isActive()) {
+            tx.rollback();
+        }
+    }
+}
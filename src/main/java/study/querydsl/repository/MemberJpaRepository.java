@@ -1,26 +1,32 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
+import study.querydsl.configuration.QuerydslProperties;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
-import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.MemberTeamProjection;
+import study.querydsl.repository.MemberSearchConditionAnalyzer.Analysis;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.QTeam;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.*;
 import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.repository.MemberSearchPredicates.*;
 
 /**
  * fileName    : MemberJpaRepository
@@ -38,11 +44,13 @@ public class MemberJpaRepository {
 
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final QuerydslProperties querydslProperties;
 
-    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory) {
+    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory, QuerydslProperties querydslProperties) {
         this.em = em;
 //        this.queryFactory = new JPAQueryFactory(em);
         this.queryFactory = queryFactory;
+        this.querydslProperties = querydslProperties;
     }
 
     public void save(Member member){
@@ -84,7 +92,7 @@ public class MemberJpaRepository {
             builder.and(member.username.eq(condition.getUsername()));
         }
         if (hasText(condition.getTeamName())) {
-            builder.and(team.name.eq(condition.getTeamName()));
+            builder.and(teamNameEq(condition.getTeamName(), singleTable()));
         }
         if(condition.getAgeGoe() != null) {
             builder.and(member.age.goe(condition.getAgeGoe()));
@@ -93,46 +101,27 @@ public class MemberJpaRepository {
             builder.and(member.age.loe(condition.getAgeLoe()));
         }
 
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName"))
-                )
-                .from(member)
-                .leftJoin(member.team, team)
+        return selectMember(MemberTeamProjection.dto(singleTable()))
                 .where(builder)
                 .fetch();
     }
 
     public List<MemberTeamDto> search(MemberSearchCondition condition){
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName"))
-                )
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .fetch();
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return new ArrayList<>();
+        }
+        condition = analysis.getCondition();
+        JPAQuery<MemberTeamDto> query = selectMember(MemberTeamProjection.dto(singleTable()));
+        return singleTable()
+                ? MemberSearchPredicates.whereSingleTable(query, condition).fetch()
+                : MemberSearchPredicates.where(query, condition).fetch();
     }
     public List<Member> searchMember(MemberSearchCondition condition){
-        return queryFactory
-                .selectFrom(member)
-                .leftJoin(member.team, team)
+        return selectMember(member)
                 .where(
                         usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
+                        teamNameEq(condition.getTeamName(), singleTable()),
 //                        ageGoe(condition.getAgeGoe()),
 //                        ageLoe(condition.getAgeLoe())
                         ageBetween(condition.getAgeLoe(), condition.getAgeGoe())
@@ -140,25 +129,19 @@ public class MemberJpaRepository {
                 .fetch();
     }
 
-    // 항상 똑같은 조건 묶음이 필요할 때 컴포넌트화 가능.
-    private BooleanExpression ageBetween(int ageLoe, int ageGoe) {
-        // null 체크 필요... 알려달라고
-        return ageLoe(ageLoe).and(ageGoe(ageGoe));
+    private boolean singleTable() {
+        return querydslProperties.isDenormalizedTeamName();
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
+    // 비정규화 모드면 team 조인 없이 member 테이블만 읽는다 (MemberRepositoryCustomImpl 과 같은 규칙)
+    private <T> JPAQuery<T> selectMember(Expression<T> projection) {
+        JPAQuery<T> query = queryFactory.select(projection).from(member);
+        return singleTable() ? query : query.leftJoin(member.team, team);
     }
 
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null ;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
-    }
-
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    // 항상 똑같은 조건 묶음이 필요할 때 컴포넌트화 가능.
+    private BooleanExpression ageBetween(int ageLoe, int ageGoe) {
+        // null 체크 필요... 알려달라고
+        return ageLoe(ageLoe).and(ageGoe(ageGoe));
     }
 }
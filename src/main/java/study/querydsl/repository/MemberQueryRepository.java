@@ -1,17 +1,17 @@
 package study.querydsl.repository;
 
-import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.stereotype.Repository;
+import study.querydsl.configuration.QuerydslProperties;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
-import study.querydsl.dto.QMemberTeamDto;
-
-import javax.persistence.EntityManager;
+import study.querydsl.dto.MemberTeamProjection;
+import study.querydsl.repository.MemberSearchConditionAnalyzer.Analysis;
 
+import java.util.ArrayList;
 import java.util.List;
 
-import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
 
@@ -34,44 +34,30 @@ import static study.querydsl.entity.QTeam.team;
 public class MemberQueryRepository {
 
     private final JPAQueryFactory queryFactory;
+    private final QuerydslProperties querydslProperties;
 
-    public MemberQueryRepository(EntityManager em) {
-        this.queryFactory = new JPAQueryFactory(em);
+    public MemberQueryRepository(JPAQueryFactory queryFactory, QuerydslProperties querydslProperties) {
+        this.queryFactory = queryFactory;
+        this.querydslProperties = querydslProperties;
     }
 
     public List<MemberTeamDto> search(MemberSearchCondition condition){
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username, member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName"))
-                )
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return new ArrayList<>();
+        }
+        condition = analysis.getCondition();
+        // 비정규화 모드면 team 조인 없이 member.teamName 으로
+        if (querydslProperties.isDenormalizedTeamName()) {
+            return MemberSearchPredicates.whereSingleTable(queryFactory
+                    .select(MemberTeamProjection.dto(true))
+                    .from(member), condition).fetch();
+        }
+        JPAQuery<MemberTeamDto> query = queryFactory
+                .select(MemberTeamProjection.dto(false))
                 .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .fetch();
-    }
-
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null ;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
-    }
-
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
+                .leftJoin(member.team, team);
+        return MemberSearchPredicates.where(query, condition).fetch();
     }
 
 }
@@ -4,8 +4,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberTeamRow;
+import study.querydsl.entity.Member;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * fileName    : MemberRepositoryCustom
@@ -20,4 +24,10 @@ import java.util.List;
 public interface MemberRepositoryCustom {
     List<MemberTeamDto> search(MemberSearchCondition condition);
     Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
+    // 엔티티 페이징 (id 먼저 -> fetch join)
+    Page<Member> searchMemberPage(MemberSearchCondition condition, Pageable pageable);
+    // 대량 조회용. 반드시 닫을 것 (try-with-resources)
+    Stream<MemberTeamDto> searchStream(MemberSearchCondition condition);
+    // 대량 조회용. consumer 에 넘어오는 row 는 재사용되니 밖으로 들고 나가지 말 것.
+    void searchForEach(MemberSearchCondition condition, Consumer<? super MemberTeamRow> consumer);
 }
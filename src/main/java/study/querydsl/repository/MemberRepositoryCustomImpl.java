@@ -1,21 +1,29 @@
 package study.querydsl.repository;
 
-import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.support.PageableExecutionUtils;
+import study.querydsl.configuration.QuerydslProperties;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
-import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.MemberTeamProjection;
+import study.querydsl.dto.MemberTeamRow;
 import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberSearchConditionAnalyzer.Analysis;
+import study.querydsl.repository.support.TwoPhasePaging;
 
-import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
 
@@ -32,55 +40,77 @@ import static study.querydsl.entity.QTeam.team;
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
 
     private final JPAQueryFactory queryFactory;
-
-    public MemberRepositoryCustomImpl(EntityManager em) {
-        this.queryFactory = new JPAQueryFactory(em);
+    private final QuerydslProperties querydslProperties;
+    private final MemberSqlRepository memberSqlRepository;
+
+    // 직접 new JPAQueryFactory(em) 하면 QuerydslApplication 에 등록한 공통 설정(fetch size 등)이 빠진다.
+    public MemberRepositoryCustomImpl(JPAQueryFactory queryFactory, QuerydslProperties querydslProperties,
+                                      MemberSqlRepository memberSqlRepository) {
+        this.queryFactory = queryFactory;
+        this.querydslProperties = querydslProperties;
+        this.memberSqlRepository = memberSqlRepository;
     }
 
     @Override
     public List<MemberTeamDto> search(MemberSearchCondition condition){
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username, member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName"))
-                )
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .fetch();
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return new ArrayList<>();
+        }
+        condition = analysis.getCondition();
+        return selectMember(MemberTeamProjection.dto(singleTable()), condition).fetch();
+    }
+
+    @Override
+    public void searchForEach(MemberSearchCondition condition, Consumer<? super MemberTeamRow> consumer) {
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return;
+        }
+        condition = analysis.getCondition();
+        // stream() 은 커서(scroll)로 한 행씩 읽는다. 다 쓰면 반드시 닫아야 커넥션이 풀린다.
+        try (Stream<MemberTeamRow> rows = selectMember(MemberTeamProjection.row(singleTable()), condition)
+                .setHint(QueryHints.HINT_FETCH_SIZE, querydslProperties.getStreamFetchSize())
+                .stream()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    /**
+     * 커서로 한 행씩 읽는다. 호출하는 쪽에서 try-with-resources 로 닫아야 커넥션/ResultSet 이 정리된다.
+     * 트랜잭션 안에서 써야 함.
+     */
+    @Override
+    public Stream<MemberTeamDto> searchStream(MemberSearchCondition condition) {
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return Stream.empty();
+        }
+        condition = analysis.getCondition();
+        return selectMember(MemberTeamProjection.dto(singleTable()), condition)
+                .setHint(QueryHints.HINT_FETCH_SIZE, querydslProperties.getStreamFetchSize())
+                .stream();
     }
 
     @Override
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> results = queryFactory
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")
-                ))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        condition = analysis.getCondition();
+        // 컨텐츠 + count 를 한 번에 (count(*) over()). window function 없는 DB 면 아래 두 번 조회로
+        if (querydslProperties.isWindowCount() && memberSqlRepository.supportsWindowCount()) {
+            return memberSqlRepository.searchPageWithWindowCount(condition, pageable);
+        }
+
+        List<MemberTeamDto> results = selectMember(MemberTeamProjection.dto(singleTable()), condition)
+                .orderBy(orderBy(pageable.getSort()))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
 
 //         5 count 만 조회
-        long total = getTotal(condition);
 //        return new PageImpl<>(results, pageable, total);
         //카운트 쿼리 생략가능!
         // 페이지 시작이면서 컨텐츠 사이즈가 페이지 사이즈보다 작을 때
@@ -95,16 +125,7 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
 //                        ageLoe(condition.getAgeLoe())
 //                );
 
-        JPAQuery<Long> where = queryFactory
-                .select(member.count())
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                );
+        JPAQuery<Long> where = selectMember(member.count(), condition);
 
 //        return PageableExecutionUtils.getPage(results, pageable, () -> countQuery.fetch().size());
         return PageableExecutionUtils.getPage(results, pageable, where::fetchOne);
@@ -113,6 +134,49 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
 
     }
 
+    /**
+     * 엔티티 페이징. id 만 먼저 페이징하고 team 은 in 절 조회에서 fetch join.
+     */
+    @Override
+    public Page<Member> searchMemberPage(MemberSearchCondition condition, Pageable pageable) {
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        condition = analysis.getCondition();
+        JPAQuery<Long> idQuery = selectMember(member.id, condition)
+                .orderBy(orderBy(pageable.getSort()));
+        JPAQuery<Long> countQuery = selectMember(member.count(), condition);
+
+        return TwoPhasePaging.page(idQuery, pageable,
+                ids -> queryFactory
+                        .selectFrom(member)
+                        .leftJoin(member.team, team).fetchJoin()
+                        .where(member.id.in(ids))
+                        .fetch(),
+                Member::getId,
+                countQuery::fetchOne);
+    }
+
+    private boolean singleTable() {
+        return querydslProperties.isDenormalizedTeamName();
+    }
+
+    // 비정규화 모드면 team 조인 없이 member 테이블만 읽는다 (member.teamName)
+    private <T> JPAQuery<T> selectMember(Expression<T> projection, MemberSearchCondition condition) {
+        if (singleTable()) {
+            return MemberSearchPredicates.whereSingleTable(queryFactory.select(projection).from(member), condition);
+        }
+        return MemberSearchPredicates.where(queryFactory
+                .select(projection)
+                .from(member)
+                .leftJoin(member.team, team), condition);
+    }
+
+    private OrderSpecifier<?>[] orderBy(Sort sort) {
+        return singleTable() ? MemberSort.singleTable(sort) : MemberSort.jpa(sort);
+    }
+
     /*
     강사님 안녕하세요. 강사님 덕분에 JPA 로드맵 강의를 알차게 배웠습니다.
     갑자기 뜬금없이 생각났는데 컨트롤러에서 Pageable를 바로 사용할 경우 max size를 제한할 수 있는 방법은 없는건지요.
@@ -125,35 +189,4 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
     감사합니다.
      */
 
-
-    private long getTotal(MemberSearchCondition condition) {
-        return queryFactory
-                .select(member)
-                .from(member)
-//                .leftJoin(member.team, team) 쪼개면 장점, 필요없는 거 join 할 필요가 없다.
-//              + 꼬일 때 있어서 fetchCount()없어짐
-//                카운트쿼리 성능... 영향 큼
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                ).fetch().size();
-    }
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null ;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
-    }
-
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
-    }
-
 }
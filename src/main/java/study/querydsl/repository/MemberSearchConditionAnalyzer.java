@@ -0,0 +1,111 @@
+package study.querydsl.repository;
+
+import lombok.Getter;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * fileName    : MemberSearchConditionAnalyzer
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : MemberSearchCondition 정규화 + 결과가 없을 게 뻔한 조건 걸러내기.
+ * - 빈 문자열 username/teamName -> null (어차피 조건에서 빠짐)
+ * - ageGoe <= 0 -> null (나이는 0 이상이라 항상 참)
+ * - ageLoe < 0, ageGoe > ageLoe -> 결과 없음. DB 안 가고 빈 결과 반환
+ * - ageGoe == ageLoe 는 MemberSearchPredicates 에서 age = ? 로 바뀜
+ * - usernameIgnoreCase 면 username 을, usernamePrefix 는 항상 Member.normalizeUsername 으로 바꿔둔다
+ * - username 이 usernamePrefix 로 시작 안 하면 결과 없음, 시작하면 prefix 조건은 뺀다 (username 이 더 좁다)
+ * 정규화한 조건으로 캐시 키도 만든다. 의미가 같은 조건이면 키도 같다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 6:00 오후  hyechan        최초 생성
+ */
+public final class MemberSearchConditionAnalyzer {
+
+    static final int MIN_AGE = 0;
+    private static final String EMPTY_KEY = "member:empty";
+
+    private MemberSearchConditionAnalyzer() {
+    }
+
+    public static Analysis analyze(MemberSearchCondition condition) {
+        Integer ageGoe = condition.getAgeGoe();
+        Integer ageLoe = condition.getAgeLoe();
+
+        if (ageGoe != null && ageGoe <= MIN_AGE) {
+            ageGoe = null;
+        }
+        if (ageLoe != null && ageLoe < MIN_AGE) {
+            return Analysis.EMPTY;
+        }
+        if (ageGoe != null && ageLoe != null && ageGoe > ageLoe) {
+            return Analysis.EMPTY;
+        }
+
+        String username = hasText(condition.getUsername()) ? condition.getUsername() : null;
+        boolean ignoreCase = username != null && Boolean.TRUE.equals(condition.getUsernameIgnoreCase());
+        if (ignoreCase) {
+            username = Member.normalizeUsername(username);
+        }
+        String prefix = hasText(condition.getUsernamePrefix())
+                ? Member.normalizeUsername(condition.getUsernamePrefix()) : null;
+        if (username != null && prefix != null) {
+            if (!Member.normalizeUsername(username).startsWith(prefix)) {
+                return Analysis.EMPTY;
+            }
+            prefix = null;
+        }
+
+        MemberSearchCondition normalized = new MemberSearchCondition();
+        normalized.setUsername(username);
+        normalized.setUsernameIgnoreCase(ignoreCase ? Boolean.TRUE : null);
+        normalized.setUsernamePrefix(prefix);
+        normalized.setTeamName(hasText(condition.getTeamName()) ? condition.getTeamName() : null);
+        normalized.setAgeGoe(ageGoe);
+        normalized.setAgeLoe(ageLoe);
+        return new Analysis(normalized, cacheKey(normalized));
+    }
+
+    // 문자열은 길이를 앞에 붙여서 구분자가 섞여 있어도 키가 겹치지 않게
+    private static String cacheKey(MemberSearchCondition condition) {
+        StringBuilder key = new StringBuilder("member");
+        appendString(key, 'u', condition.getUsername());
+        key.append("|i").append(condition.getUsernameIgnoreCase() != null ? "y" : "-");
+        appendString(key, 'p', condition.getUsernamePrefix());
+        appendString(key, 't', condition.getTeamName());
+        key.append("|g").append(condition.getAgeGoe() != null ? condition.getAgeGoe() : "-");
+        key.append("|l").append(condition.getAgeLoe() != null ? condition.getAgeLoe() : "-");
+        return key.toString();
+    }
+
+    private static void appendString(StringBuilder key, char name, String value) {
+        key.append('|').append(name);
+        if (value == null) {
+            key.append('-');
+        } else {
+            key.append(value.length()).append(':').append(value);
+        }
+    }
+
+    @Getter
+    public static final class Analysis {
+
+        private static final Analysis EMPTY = new Analysis(null, EMPTY_KEY);
+
+        // 정규화된 조건. alwaysEmpty 면 null
+        private final MemberSearchCondition condition;
+        private final String cacheKey;
+
+        private Analysis(MemberSearchCondition condition, String cacheKey) {
+            this.condition = condition;
+            this.cacheKey = cacheKey;
+        }
+
+        public boolean isAlwaysEmpty() {
+            return condition == null;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.support.QueryBase;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.jpa.impl.JPAQuery;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.sql.SMember;
+import study.querydsl.sql.STeam;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * fileName    : MemberSearchPredicates
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : MemberSearchCondition -> where 절.
+ * 레포지토리마다 복붙돼 있던 usernameEq, teamNameEq, ageGoe, ageLoe 를 한 곳으로 모았다.
+ *
+ * where(query, condition) 은 조건 조합별 predicate 를 미리 Param 으로 만들어두고
+ * 값만 바인딩한다. 요청마다 BooleanExpression 을 새로 안 만들고,
+ * 같은 조건 조합이면 항상 같은 순서(username, teamName, age)라 JPQL 이 똑같이 나온다.
+ * 조건 정규화(모순 검사 등)는 MemberSearchConditionAnalyzer 에서 먼저 한다.
+ * usernameIgnoreCase, usernamePrefix 는 lower(username) 대신 username_normalized 컬럼에 걸어서 인덱스를 탄다.
+ * teamName 조건은 team 조인이 있어야 한다. whereSingleTable 은 비정규화된 member.teamName 을 써서 조인이 필요 없다.
+ * whereSql 은 같은 shape 을 SMember/STeam 컬럼으로 만든 것 (MemberSqlRepository, ShardedMemberRepository).
+ * 규칙은 compileShapes 한 곳에만 있다. 읽기 모델(MemberReadModel)의 자바 구현은 MemberReadModelTest 에서 결과를 맞춰 본다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 2:00 오후  hyechan        최초 생성
+ */
+public final class MemberSearchPredicates {
+
+    private static final Param<String> USERNAME = new Param<>(String.class, "username");
+    private static final Param<String> TEAM_NAME = new Param<>(String.class, "teamName");
+    private static final Param<Integer> AGE_GOE = new Param<>(Integer.class, "ageGoe");
+    private static final Param<Integer> AGE_LOE = new Param<>(Integer.class, "ageLoe");
+    private static final Param<Integer> AGE_EQ = new Param<>(Integer.class, "ageEq");
+    private static final Param<String> USERNAME_NORMALIZED = new Param<>(String.class, "usernameNormalized");
+    private static final Param<String> USERNAME_PREFIX = new Param<>(String.class, "usernamePrefix");
+
+    static final char LIKE_ESCAPE = '!';
+
+    private static final int USERNAME_BIT = 1;
+    private static final int TEAM_NAME_BIT = 1 << 1;
+    private static final int AGE_GOE_BIT = 1 << 2;
+    private static final int AGE_LOE_BIT = 1 << 3;
+    private static final int AGE_EQ_BIT = 1 << 4;
+    private static final int USERNAME_IGNORE_CASE_BIT = 1 << 5;
+    private static final int USERNAME_PREFIX_BIT = 1 << 6;
+
+    private static final Predicate[][] SHAPES = compileShapes(
+            member.username, member.usernameNormalized, team.name, member.age);
+    private static final Predicate[][] SINGLE_TABLE_SHAPES = compileShapes(
+            member.username, member.usernameNormalized, member.teamName, member.age);
+    private static final Predicate[][] SQL_SHAPES = compileShapes(
+            SMember.member.username, SMember.member.usernameNormalized, STeam.team.name, SMember.member.age);
+    private static final Predicate[][] SQL_SINGLE_TABLE_SHAPES = compileShapes(
+            SMember.member.username, SMember.member.usernameNormalized, SMember.member.teamName, SMember.member.age);
+
+    // 엔티티(QMember)든 테이블(SMember)이든 컬럼만 바꿔 끼워서 같은 규칙으로
+    private static Predicate[][] compileShapes(StringPath username, StringPath usernameNormalized,
+                                               StringPath teamName, NumberPath<Integer> age) {
+        Predicate[][] shapes = new Predicate[128][];
+        for (int shape = 0; shape < shapes.length; shape++) {
+            List<Predicate> predicates = new ArrayList<>();
+            if ((shape & USERNAME_BIT) != 0) {
+                predicates.add(username.eq(USERNAME));
+            }
+            if ((shape & USERNAME_IGNORE_CASE_BIT) != 0) {
+                predicates.add(usernameNormalized.eq(USERNAME_NORMALIZED));
+            }
+            if ((shape & USERNAME_PREFIX_BIT) != 0) {
+                // 'abc%' 처럼 앞이 고정된 like 라 인덱스 range scan
+                predicates.add(usernameNormalized.like(USERNAME_PREFIX, LIKE_ESCAPE));
+            }
+            if ((shape & TEAM_NAME_BIT) != 0) {
+                predicates.add(teamName.eq(TEAM_NAME));
+            }
+            if ((shape & AGE_EQ_BIT) != 0) {
+                predicates.add(age.eq(AGE_EQ));
+            }
+            if ((shape & AGE_GOE_BIT) != 0) {
+                predicates.add(age.goe(AGE_GOE));
+            }
+            if ((shape & AGE_LOE_BIT) != 0) {
+                predicates.add(age.loe(AGE_LOE));
+            }
+            shapes[shape] = predicates.toArray(new Predicate[0]);
+        }
+        return shapes;
+    }
+
+    private MemberSearchPredicates() {
+    }
+
+    /**
+     * 조건에 맞는 where 절을 붙이고 파라미터를 바인딩한다.
+     */
+    public static <T> JPAQuery<T> where(JPAQuery<T> query, MemberSearchCondition condition) {
+        return where(query, condition, SHAPES);
+    }
+
+    /**
+     * team 조인 없이 member.teamName 으로 teamName 조건을 건다.
+     */
+    public static <T> JPAQuery<T> whereSingleTable(JPAQuery<T> query, MemberSearchCondition condition) {
+        return where(query, condition, SINGLE_TABLE_SHAPES);
+    }
+
+    /**
+     * JPASQLQuery, SQLQuery 용. SMember 와 (singleTable 이 아니면) STeam 이 from/join 에 있어야 한다.
+     * @param singleTable true 면 teamName 조건을 member.team_name 에 건다 (team 조인 없음)
+     */
+    public static <Q extends QueryBase<Q>> Q whereSql(Q query, MemberSearchCondition condition, boolean singleTable) {
+        return where(query, condition, singleTable ? SQL_SINGLE_TABLE_SHAPES : SQL_SHAPES);
+    }
+
+    private static <Q extends QueryBase<Q>> Q where(Q query, MemberSearchCondition condition, Predicate[][] shapes) {
+        int shape = shapeOf(condition);
+        query.where(shapes[shape]);
+        if ((shape & USERNAME_BIT) != 0) {
+            query.set(USERNAME, condition.getUsername());
+        }
+        if ((shape & USERNAME_IGNORE_CASE_BIT) != 0) {
+            query.set(USERNAME_NORMALIZED, Member.normalizeUsername(condition.getUsername()));
+        }
+        if ((shape & USERNAME_PREFIX_BIT) != 0) {
+            query.set(USERNAME_PREFIX, prefixPattern(condition.getUsernamePrefix()));
+        }
+        if ((shape & TEAM_NAME_BIT) != 0) {
+            query.set(TEAM_NAME, condition.getTeamName());
+        }
+        if ((shape & AGE_EQ_BIT) != 0) {
+            query.set(AGE_EQ, condition.getAgeGoe());
+        }
+        if ((shape & AGE_GOE_BIT) != 0) {
+            query.set(AGE_GOE, condition.getAgeGoe());
+        }
+        if ((shape & AGE_LOE_BIT) != 0) {
+            query.set(AGE_LOE, condition.getAgeLoe());
+        }
+        return query;
+    }
+
+    static int shapeOf(MemberSearchCondition condition) {
+        int shape = 0;
+        if (hasText(condition.getUsername())) {
+            shape |= Boolean.TRUE.equals(condition.getUsernameIgnoreCase()) ? USERNAME_IGNORE_CASE_BIT : USERNAME_BIT;
+        }
+        if (hasText(condition.getUsernamePrefix())) {
+            shape |= USERNAME_PREFIX_BIT;
+        }
+        if (hasText(condition.getTeamName())) {
+            shape |= TEAM_NAME_BIT;
+        }
+        Integer ageGoe = condition.getAgeGoe();
+        Integer ageLoe = condition.getAgeLoe();
+        if (ageGoe != null && ageGoe.equals(ageLoe)) {
+            // between 대신 = 로. 인덱스 동등 조건으로 쓸 수 있게
+            return shape | AGE_EQ_BIT;
+        }
+        if (ageGoe != null) {
+            shape |= AGE_GOE_BIT;
+        }
+        if (ageLoe != null) {
+            shape |= AGE_LOE_BIT;
+        }
+        return shape;
+    }
+
+    // 사용자가 넣은 %, _ 는 문자 그대로 비교
+    static String prefixPattern(String prefix) {
+        String normalized = Member.normalizeUsername(prefix);
+        StringBuilder pattern = new StringBuilder(normalized.length() + 2);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    // 조건 하나씩 따로 조립할 때 (null 이면 where 에서 무시됨)
+
+    public static BooleanExpression usernameEq(String username) {
+        return hasText(username) ? member.username.eq(username) : null;
+    }
+
+    public static BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? team.name.eq(teamName) : null ;
+    }
+
+    /**
+     * @param singleTable true 면 비정규화된 member.teamName 으로 (team 조인 없이)
+     */
+    public static BooleanExpression teamNameEq(String teamName, boolean singleTable) {
+        return singleTable ? (hasText(teamName) ? member.teamName.eq(teamName) : null) : teamNameEq(teamName);
+    }
+
+    public static BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    public static BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+}
@@ -0,0 +1,169 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import org.springframework.data.domain.Sort;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.support.InvalidSortException;
+import study.querydsl.sql.SMember;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * fileName    : MemberSort
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : Pageable 의 sort -> OrderSpecifier.
+ * 클라이언트가 아무 컬럼이나 정렬하면 큰 테이블에서 filesort 가 나니까 인덱스 있는 키만 허용한다.
+ *   age      -> idx_member_age (age, member_id)
+ *   username -> idx_member_username (username, member_id)
+ *   usernameNormalized -> idx_member_username_normalized (대소문자 무시 순서. 자동완성)
+ *   memberId -> PK
+ *   teamName -> idx_member_team_name (team_name, member_id). 비정규화 모드(singleTable, sqlSingleTable)에서만.
+ *               team 조인 쿼리(jpa, sql)는 team.name, member.member_id 가 두 테이블에 걸쳐 있어 받쳐줄 인덱스가 없다.
+ * 페이지가 흔들리지 않게 마지막에 항상 member id 를 붙인다. 그 외 키는 InvalidSortException.
+ * 인덱스가 전부 (키, member_id) 라 id 말고 키는 하나만 된다. age, username 같은 조합도 InvalidSortException.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 7:00 오후  hyechan        최초 생성
+ */
+public enum MemberSort {
+
+    AGE("age", member.age, member.age, SMember.member.age, SMember.member.age,
+            Comparator.comparingInt(MemberTeamDto::getAge)),
+    USERNAME("username", member.username, member.username, SMember.member.username, SMember.member.username,
+            Comparator.comparing(MemberTeamDto::getUsername, Comparator.nullsFirst(Comparator.naturalOrder()))),
+    USERNAME_NORMALIZED("usernameNormalized", member.usernameNormalized, member.usernameNormalized,
+            SMember.member.usernameNormalized, SMember.member.usernameNormalized,
+            Comparator.comparing(dto -> Member.normalizeUsername(dto.getUsername()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()))),
+    MEMBER_ID("memberId", member.id, member.id, SMember.member.memberId, SMember.member.memberId,
+            Comparator.comparing(MemberTeamDto::getMemberId)),
+    // team 조인 쿼리용 경로는 없다 (null). jpa()/sql() 에서 쓰면 InvalidSortException
+    TEAM_NAME("teamName", null, member.teamName, null, SMember.member.teamName,
+            Comparator.comparing(MemberTeamDto::getTeamName, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    private final String property;
+    private final ComparableExpressionBase<?> jpaPath;
+    // team 조인 없는 쿼리(비정규화 team_name)용
+    private final ComparableExpressionBase<?> singleTablePath;
+    private final ComparableExpressionBase<?> sqlPath;
+    private final ComparableExpressionBase<?> sqlSingleTablePath;
+    // 이미 정렬된 결과끼리 합칠 때 (ShardedMemberRepository). null 은 가장 작은 값
+    private final Comparator<MemberTeamDto> comparator;
+
+    MemberSort(String property, ComparableExpressionBase<?> jpaPath, ComparableExpressionBase<?> singleTablePath,
+               ComparableExpressionBase<?> sqlPath, ComparableExpressionBase<?> sqlSingleTablePath,
+               Comparator<MemberTeamDto> comparator) {
+        this.property = property;
+        this.jpaPath = jpaPath;
+        this.singleTablePath = singleTablePath;
+        this.sqlPath = sqlPath;
+        this.sqlSingleTablePath = sqlSingleTablePath;
+        this.comparator = comparator;
+    }
+
+    public static MemberSort of(String property) {
+        for (MemberSort key : values()) {
+            if (key.property.equals(property)) {
+                return key;
+            }
+        }
+        throw new InvalidSortException("정렬할 수 없는 키입니다: " + property);
+    }
+
+    /**
+     * JPAQuery 용 (QMember, QTeam)
+     */
+    public static OrderSpecifier<?>[] jpa(Sort sort) {
+        return toOrderSpecifiers(sort, Target.JPA);
+    }
+
+    /**
+     * team 조인 없이 member.teamName 을 쓰는 JPAQuery 용
+     */
+    public static OrderSpecifier<?>[] singleTable(Sort sort) {
+        return toOrderSpecifiers(sort, Target.SINGLE_TABLE);
+    }
+
+    /**
+     * JPASQLQuery 용 (SMember, STeam)
+     */
+    public static OrderSpecifier<?>[] sql(Sort sort) {
+        return toOrderSpecifiers(sort, Target.SQL);
+    }
+
+    /**
+     * team 조인 없이 member.team_name 을 쓰는 JPASQLQuery 용
+     */
+    public static OrderSpecifier<?>[] sqlSingleTable(Sort sort) {
+        return toOrderSpecifiers(sort, Target.SQL_SINGLE_TABLE);
+    }
+
+    /**
+     * sql(sort) 와 같은 순서의 MemberTeamDto 비교. DB 정렬과 맞추려면 null 을 앞(asc)/뒤(desc)로 보내야 한다
+     */
+    public static Comparator<MemberTeamDto> comparator(Sort sort) {
+        List<Comparator<MemberTeamDto>> comparators = new ArrayList<>();
+        forEachKey(sort, (key, direction) ->
+                comparators.add(direction == Order.ASC ? key.comparator : key.comparator.reversed()));
+        return comparators.stream().reduce((first, second) -> first.thenComparing(second)).orElseThrow();
+    }
+
+    private enum Target { JPA, SINGLE_TABLE, SQL, SQL_SINGLE_TABLE }
+
+    private static OrderSpecifier<?>[] toOrderSpecifiers(Sort sort, Target target) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        forEachKey(sort, (key, direction) -> orders.add(key.orderSpecifier(direction, target)));
+        return orders.toArray(new OrderSpecifier<?>[0]);
+    }
+
+    private static void forEachKey(Sort sort, BiConsumer<MemberSort, Order> consumer) {
+        Order tiebreakerDirection = Order.ASC;
+        MemberSort first = null;
+        for (Sort.Order order : sort) {
+            MemberSort key = of(order.getProperty());
+            if (first != null && key != MEMBER_ID) {
+                throw new InvalidSortException("인덱스가 없는 정렬 조합입니다: " + first.property + ", " + key.property);
+            }
+            Order direction = order.isAscending() ? Order.ASC : Order.DESC;
+            consumer.accept(key, direction);
+            if (key == MEMBER_ID) {
+                return; // id 뒤에 오는 정렬은 의미가 없다
+            }
+            first = key;
+            tiebreakerDirection = direction;
+        }
+        consumer.accept(MEMBER_ID, tiebreakerDirection);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private OrderSpecifier<?> orderSpecifier(Order direction, Target target) {
+        ComparableExpressionBase<?> path = path(target);
+        if (path == null) {
+            throw new InvalidSortException("비정규화 모드(querydsl.denormalized-team-name)에서만 정렬할 수 있는 키입니다: " + property);
+        }
+        return new OrderSpecifier(direction, path);
+    }
+
+    private ComparableExpressionBase<?> path(Target target) {
+        switch (target) {
+            case SQL:
+                return sqlPath;
+            case SQL_SINGLE_TABLE:
+                return sqlSingleTablePath;
+            case SINGLE_TABLE:
+                return singleTablePath;
+            default:
+                return jpaPath;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.sql.JPASQLQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import study.querydsl.configuration.QuerydslProperties;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberSearchConditionAnalyzer.Analysis;
+import study.querydsl.repository.support.SqlQueryFactory;
+import study.querydsl.sql.SMember;
+import study.querydsl.sql.STeam;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * fileName    : MemberSqlRepository
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : JPQL 로 표현 안 되는 조회 (window function 등) 를 JPASQLQuery 로.
+ * 엔티티 대신 SMember/STeam(querydsl-sql 메타모델)을 쓴다. 같은 EntityManager(트랜잭션)를 탄다.
+ * querydsl.denormalized-team-name 이 켜져 있으면 MemberRepositoryCustomImpl 처럼 team 조인 없이 member.team_name 을 쓴다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 5:00 오후  hyechan        최초 생성
+ */
+@Repository
+public class MemberSqlRepository {
+
+    private static final SMember m = SMember.member;
+    private static final STeam t = STeam.team;
+
+    private final SqlQueryFactory sqlQueryFactory;
+    private final QuerydslProperties querydslProperties;
+
+    public MemberSqlRepository(SqlQueryFactory sqlQueryFactory, QuerydslProperties querydslProperties) {
+        this.sqlQueryFactory = sqlQueryFactory;
+        this.querydslProperties = querydslProperties;
+    }
+
+    public boolean supportsWindowCount() {
+        return sqlQueryFactory.dialect().supportsWindowFunctions();
+    }
+
+    /**
+     * searchPageSimple 과 같은 결과를 쿼리 한 번으로.
+     * 행마다 count(*) over() 로 전체 건수를 같이 받는다.
+     * 범위 밖 페이지(결과 0건)면 건수를 알 수 없어서 그때만 count 쿼리를 한 번 더 한다.
+     */
+    public Page<MemberTeamDto> searchPageWithWindowCount(MemberSearchCondition condition, Pageable pageable) {
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        condition = analysis.getCondition();
+        NumberExpression<Long> total = Expressions.numberTemplate(Long.class, "count(*) over()");
+        boolean singleTable = singleTable();
+
+        List<Tuple> rows = MemberSearchPredicates.whereSql(fromMember(query()
+                .select(m.memberId, m.username, m.age, m.teamId,
+                        singleTable ? m.teamName : t.name, total)), condition, singleTable)
+                .orderBy(singleTable ? MemberSort.sqlSingleTable(pageable.getSort()) : MemberSort.sql(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        List<MemberTeamDto> content = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            // 네이티브 쿼리라 BIGINT 가 BigInteger 로 올 수 있다. Number 로 받아서 변환
+            content.add(new MemberTeamDto(
+                    toLong(row.get(0, Number.class)),
+                    row.get(1, String.class),
+                    row.get(2, Number.class).intValue(),
+                    toLong(row.get(3, Number.class)),
+                    row.get(4, String.class)));
+        }
+
+        long totalCount;
+        if (!rows.isEmpty()) {
+            totalCount = rows.get(0).get(5, Number.class).longValue();
+        } else if (pageable.getOffset() == 0) {
+            totalCount = 0;
+        } else {
+            totalCount = count(condition);
+        }
+        return new PageImpl<>(content, pageable, totalCount);
+    }
+
+    private long count(MemberSearchCondition condition) {
+        Object count = MemberSearchPredicates.whereSql(fromMember(query()
+                .select(Expressions.template(Object.class, "count(*)"))), condition, singleTable())
+                .fetchOne();
+        return count != null ? ((Number) count).longValue() : 0;
+    }
+
+    private JPASQLQuery<?> query() {
+        return sqlQueryFactory.query();
+    }
+
+    private boolean singleTable() {
+        return querydslProperties.isDenormalizedTeamName();
+    }
+
+    // 비정규화 모드면 member 테이블만. team_id 는 member 쪽 FK 컬럼이라 어느 쪽이든 m.teamId
+    private <T> JPASQLQuery<T> fromMember(JPASQLQuery<T> query) {
+        if (singleTable()) {
+            return query.from(m);
+        }
+        return query.from(m).leftJoin(t).on(m.teamId.eq(t.id));
+    }
+
+    private static Long toLong(Number value) {
+        return value != null ? value.longValue() : null;
+    }
+}
@@ -0,0 +1,232 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.sql.SQLQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberSearchConditionAnalyzer.Analysis;
+import study.querydsl.repository.support.MemberShards;
+import study.querydsl.repository.support.MemberShards.Shard;
+import study.querydsl.sql.SMember;
+import study.querydsl.sql.STeam;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * fileName    : ShardedMemberRepository
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 팀 id 로 나눈 샤드(MemberShards) 위의 member 저장/검색.
+ * 쓰기는 팀 id 로 라우팅 (회원은 팀과 같은 샤드). 검색은 모든 샤드에 같은 쿼리를 동시에 보내고
+ * 샤드별로 정렬된 결과를 k-way merge 한다. 페이지는 샤드마다 offset + size 건까지만 읽어서 합친 뒤 잘라내고, 건수는 더한다.
+ * 뒤쪽 페이지일수록 샤드마다 읽는 양이 늘어나니 깊은 페이지는 keyset 으로 갈 것.
+ * 문자열 정렬은 DB collation 과 String.compareTo 가 같다고 본다 (H2 기본값).
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 2:00 오후  hyechan        최초 생성
+ */
+public class ShardedMemberRepository {
+
+    private static final SMember m = SMember.member;
+    private static final STeam t = STeam.team;
+    private static final NumberExpression<Long> NEXT_ID =
+            Expressions.numberTemplate(Long.class, "next value for hibernate_sequence");
+
+    private final MemberShards shards;
+
+    public ShardedMemberRepository(MemberShards shards) {
+        this.shards = shards;
+    }
+
+    public Long saveTeam(String name) {
+        Shard shard = shards.nextForNewTeam();
+        Long id = nextId(shard);
+        shard.queryFactory().insert(t)
+                .set(t.id, id)
+                .set(t.name, name)
+                .execute();
+        return id;
+    }
+
+    /**
+     * 팀이 있는 샤드에 넣는다. team_name 은 그 샤드의 team 에서 읽어서 채운다
+     */
+    public Long saveMember(String username, int age, Long teamId) {
+        Shard shard = shards.route(teamId);
+        String teamName = null;
+        if (teamId != null) {
+            List<String> names = shard.query().select(t.name).from(t).where(t.id.eq(teamId)).fetch();
+            if (names.isEmpty()) {
+                throw new IllegalArgumentException("없는 팀입니다. teamId=" + teamId + ", shard=" + shard.getIndex());
+            }
+            teamName = names.get(0);
+        }
+        Long id = nextId(shard);
+        shard.queryFactory().insert(m)
+                .set(m.memberId, id)
+                .set(m.username, username)
+                .set(m.age, age)
+                .set(m.teamId, teamId)
+                .set(m.teamName, teamName)
+                .set(m.usernameNormalized, Member.normalizeUsername(username))
+                .execute();
+        return id;
+    }
+
+    /**
+     * MemberRepositoryCustom.search 와 같은 조건. member id 순
+     */
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return new ArrayList<>();
+        }
+        MemberSearchCondition normalized = analysis.getCondition();
+        Sort sort = Sort.unsorted();
+        OrderSpecifier<?>[] orders = nullsLow(MemberSort.sql(sort));
+        List<List<MemberTeamDto>> parts = shards.scatter(shard -> toDtos(select(shard, normalized)
+                .orderBy(orders)
+                .fetch()));
+        return merge(parts, MemberSort.comparator(sort), 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * MemberRepositoryCustom.searchPageSimple 과 같은 결과. 정렬 키는 MemberSort 와 같다
+     */
+    public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition);
+        if (analysis.isAlwaysEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        MemberSearchCondition normalized = analysis.getCondition();
+        OrderSpecifier<?>[] orders = nullsLow(MemberSort.sql(pageable.getSort()));
+        // 어느 샤드에서 몇 건이 올지 모르니 샤드마다 앞에서부터 offset + size 건
+        long window = pageable.getOffset() + pageable.getPageSize();
+
+        List<ShardPage> parts = shards.scatter(shard -> {
+            List<MemberTeamDto> rows = toDtos(select(shard, normalized)
+                    .orderBy(orders)
+                    .limit(window)
+                    .fetch());
+            long total = rows.size() < window && pageable.getOffset() == 0
+                    ? rows.size()
+                    : countQuery(shard, normalized);
+            return new ShardPage(rows, total);
+        });
+
+        List<List<MemberTeamDto>> rows = new ArrayList<>(parts.size());
+        long total = 0;
+        for (ShardPage part : parts) {
+            rows.add(part.rows);
+            total += part.total;
+        }
+        List<MemberTeamDto> content = merge(rows, MemberSort.comparator(pageable.getSort()),
+                pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * 각각 comparator 순으로 정렬된 목록들을 합쳐서 offset 부터 limit 건
+     */
+    static List<MemberTeamDto> merge(List<List<MemberTeamDto>> sorted, Comparator<MemberTeamDto> comparator,
+                                     long offset, int limit) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, sorted.size()),
+                (a, b) -> comparator.compare(a.current(), b.current()));
+        for (List<MemberTeamDto> rows : sorted) {
+            if (!rows.isEmpty()) {
+                heap.add(new Cursor(rows));
+            }
+        }
+        List<MemberTeamDto> result = new ArrayList<>();
+        long skipped = 0;
+        while (!heap.isEmpty() && result.size() < limit) {
+            Cursor cursor = heap.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                result.add(cursor.current());
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private SQLQuery<Tuple> select(Shard shard, MemberSearchCondition condition) {
+        return MemberSearchPredicates.whereSql(shard.query()
+                .select(m.memberId, m.username, m.age, m.teamId, t.name)
+                .from(m)
+                .leftJoin(t).on(m.teamId.eq(t.id)), condition, false);
+    }
+
+    private long countQuery(Shard shard, MemberSearchCondition condition) {
+        Long count = MemberSearchPredicates.whereSql(shard.query()
+                .select(m.memberId.count())
+                .from(m)
+                .leftJoin(t).on(m.teamId.eq(t.id)), condition, false)
+                .fetchOne();
+        return count != null ? count : 0;
+    }
+
+    private static Long nextId(Shard shard) {
+        return shard.query().select(NEXT_ID).fetchOne();
+    }
+
+    private static List<MemberTeamDto> toDtos(List<Tuple> rows) {
+        List<MemberTeamDto> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            result.add(new MemberTeamDto(row.get(m.memberId), row.get(m.username), row.get(m.age),
+                    row.get(m.teamId), row.get(t.name)));
+        }
+        return result;
+    }
+
+    // MemberSort.comparator 처럼 null 을 가장 작은 값으로 (DB 마다 기본값이 달라서 명시)
+    private static OrderSpecifier<?>[] nullsLow(OrderSpecifier<?>[] orders) {
+        OrderSpecifier<?>[] result = new OrderSpecifier<?>[orders.length];
+        for (int i = 0; i < orders.length; i++) {
+            result[i] = orders[i].isAscending() ? orders[i].nullsFirst() : orders[i].nullsLast();
+        }
+        return result;
+    }
+
+    private static class ShardPage {
+        private final List<MemberTeamDto> rows;
+        private final long total;
+
+        private ShardPage(List<MemberTeamDto> rows, long total) {
+            this.rows = rows;
+            this.total = total;
+        }
+    }
+
+    private static class Cursor {
+        private final List<MemberTeamDto> rows;
+        private int position;
+
+        private Cursor(List<MemberTeamDto> rows) {
+            this.rows = rows;
+        }
+
+        private MemberTeamDto current() {
+            return rows.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < rows.size();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.InvalidSortException;
+import study.querydsl.repository.support.TwoPhasePaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * fileName    : TeamQueryRepository
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : Team 조회용 Repository
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 4:00 오후  hyechan        최초 생성
+ */
+@Repository
+@RequiredArgsConstructor
+public class TeamQueryRepository {
+
+    // 정렬 허용 키. name -> uk_team_name, id -> PK. 그 외 키는 InvalidSortException
+    private static final Map<String, ComparableExpressionBase<?>> SORT_KEYS = Map.of(
+            "name", team.name,
+            "id", team.id);
+
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * team.members 컬렉션 fetch join 페이징.
+     * 그냥 fetchJoin() + offset/limit 하면 메모리 페이징이라 TwoPhasePaging 으로 나눴다.
+     * 정렬은 pageable.getSort() (name, id). 정렬이 없거나 같은 값이면 team id 순
+     */
+    public Page<Team> findTeamsWithMembers(String teamName, Pageable pageable) {
+        JPAQuery<Long> idQuery = queryFactory
+                .select(team.id)
+                .from(team)
+                .where(teamNameEq(teamName))
+                .orderBy(orderBy(pageable.getSort()));
+        JPAQuery<Long> countQuery = queryFactory
+                .select(team.count())
+                .from(team)
+                .where(teamNameEq(teamName));
+
+        return TwoPhasePaging.page(idQuery, pageable,
+                ids -> queryFactory
+                        .selectFrom(team).distinct()
+                        .leftJoin(team.members, member).fetchJoin()
+                        .where(team.id.in(ids))
+                        .fetch(),
+                Team::getId,
+                countQuery::fetchOne);
+    }
+
+    // 페이지가 흔들리지 않게 마지막에 항상 team id 를 붙인다 (MemberSort 와 같은 규칙)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static OrderSpecifier<?>[] orderBy(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        Order tiebreakerDirection = Order.ASC;
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> path = SORT_KEYS.get(order.getProperty());
+            if (path == null) {
+                throw new InvalidSortException("정렬할 수 없는 키입니다: " + order.getProperty());
+            }
+            Order direction = order.isAscending() ? Order.ASC : Order.DESC;
+            orders.add(new OrderSpecifier(direction, path));
+            if (path == team.id) {
+                return orders.toArray(new OrderSpecifier<?>[0]);
+            }
+            tiebreakerDirection = direction;
+        }
+        orders.add(new OrderSpecifier<>(tiebreakerDirection, team.id));
+        return orders.toArray(new OrderSpecifier<?>[0]);
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+}
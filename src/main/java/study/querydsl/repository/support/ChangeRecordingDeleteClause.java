@@ -0,0 +1,54 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import study.querydsl.event.BulkChangeEvent;
+import study.querydsl.event.ChangeFeed;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * fileName    : ChangeRecordingDeleteClause
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 벌크 delete 를 실행하면서 where 조건을 BulkChangeEvent 로 남긴다 (ChangeRecordingUpdateClause 와 같은 이유)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+public class ChangeRecordingDeleteClause extends JPADeleteClause {
+
+    private final EntityPath<?> entity;
+    private final ChangeFeed changeFeed;
+    private final List<Predicate> predicates = new ArrayList<>();
+
+    public ChangeRecordingDeleteClause(EntityManager em, EntityPath<?> entity, ChangeFeed changeFeed) {
+        super(em, entity);
+        this.entity = entity;
+        this.changeFeed = changeFeed;
+    }
+
+    @Override
+    public JPADeleteClause where(Predicate... o) {
+        for (Predicate predicate : o) {
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        return super.where(o);
+    }
+
+    @Override
+    public long execute() {
+        long rows = super.execute();
+        if (rows > 0) {
+            changeFeed.record(BulkChangeEvent.delete(entity.getType(), ExpressionUtils.allOf(predicates), rows));
+        }
+        return rows;
+    }
+}
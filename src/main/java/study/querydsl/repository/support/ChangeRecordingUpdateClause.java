@@ -0,0 +1,145 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import study.querydsl.entity.Member;
+import study.querydsl.event.BulkChangeEvent;
+import study.querydsl.event.ChangeFeed;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * fileName    : ChangeRecordingUpdateClause
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 벌크 update 는 엔티티 이벤트가 없어서, 실행하면서 where 조건 + set 한 속성을 BulkChangeEvent 로 남긴다.
+ * 한 건도 안 바뀌었으면 안 남긴다.
+ * 벌크 update 는 @PreUpdate 도 안 불러서, Member.username 을 값으로 set 하면 username_normalized 도 같이 set 한다.
+ * 식(member.username.concat(..))으로 set 하는 건 DB 함수로 normalizeUsername 과 똑같이 못 만들어서 막는다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 4:00 오후  hyechan        최초 생성
+ */
+public class ChangeRecordingUpdateClause extends JPAUpdateClause {
+
+    private static final String USERNAME = "username";
+    private static final String USERNAME_NORMALIZED = "usernameNormalized";
+
+    private final EntityPath<?> entity;
+    private final ChangeFeed changeFeed;
+    private final Set<String> changedProperties = new LinkedHashSet<>();
+    private final List<Predicate> predicates = new ArrayList<>();
+
+    public ChangeRecordingUpdateClause(EntityManager em, EntityPath<?> entity, ChangeFeed changeFeed) {
+        super(em, entity);
+        this.entity = entity;
+        this.changeFeed = changeFeed;
+    }
+
+    @Override
+    public <T> JPAUpdateClause set(Path<T> path, T value) {
+        changedProperties.add(rootProperty(path));
+        if (isMemberUsername(path)) {
+            setUsernameNormalized(Member.normalizeUsername((String) value));
+        }
+        return super.set(path, value);
+    }
+
+    @Override
+    public <T> JPAUpdateClause set(Path<T> path, Expression<? extends T> expression) {
+        if (isMemberUsername(path)) {
+            throw new IllegalArgumentException("username 은 값으로만 벌크 update 할 수 있습니다 (username_normalized 를 같이 맞춰야 함): "
+                    + expression);
+        }
+        changedProperties.add(rootProperty(path));
+        return super.set(path, expression);
+    }
+
+    @Override
+    public <T> JPAUpdateClause setNull(Path<T> path) {
+        changedProperties.add(rootProperty(path));
+        if (isMemberUsername(path)) {
+            setUsernameNormalized(null);
+        }
+        return super.setNull(path);
+    }
+
+    @Override
+    public JPAUpdateClause set(List<? extends Path<?>> paths, List<?> values) {
+        for (int i = 0; i < paths.size(); i++) {
+            Path<?> path = paths.get(i);
+            changedProperties.add(rootProperty(path));
+            if (isMemberUsername(path)) {
+                Object value = values.get(i);
+                if (value instanceof Expression) {
+                    throw new IllegalArgumentException("username 은 값으로만 벌크 update 할 수 있습니다: " + value);
+                }
+                setUsernameNormalized(Member.normalizeUsername((String) value));
+            }
+        }
+        return super.set(paths, values);
+    }
+
+    @Override
+    public JPAUpdateClause where(Predicate... o) {
+        for (Predicate predicate : o) {
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        return super.where(o);
+    }
+
+    @Override
+    public long execute() {
+        long rows = super.execute();
+        if (rows > 0) {
+            changeFeed.record(BulkChangeEvent.update(entity.getType(), ExpressionUtils.allOf(predicates),
+                    new LinkedHashSet<>(changedProperties), rows));
+        }
+        return rows;
+    }
+
+    private boolean isMemberUsername(Path<?> path) {
+        if (!Member.class.equals(entity.getType())) {
+            return false;
+        }
+        String property = rootProperty(path);
+        if (USERNAME_NORMALIZED.equals(property)) {
+            throw new IllegalArgumentException("username_normalized 는 username 을 set 하면 알아서 맞춰집니다");
+        }
+        return USERNAME.equals(property);
+    }
+
+    private void setUsernameNormalized(String normalized) {
+        StringPath path = Expressions.stringPath(entity, USERNAME_NORMALIZED);
+        changedProperties.add(USERNAME_NORMALIZED);
+        if (normalized == null) {
+            super.setNull(path);
+        } else {
+            super.set(path, normalized);
+        }
+    }
+
+    /**
+     * member.team.id -> team, member.teamName -> teamName
+     */
+    static String rootProperty(Path<?> path) {
+        Path<?> current = path;
+        while (current.getMetadata().getParent() != null && !current.getMetadata().getParent().getMetadata().isRoot()) {
+            current = current.getMetadata().getParent();
+        }
+        return current.getMetadata().getName();
+    }
+}
@@ -0,0 +1,61 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import org.hibernate.jpa.QueryHints;
+import study.querydsl.configuration.QuerydslProperties;
+import study.querydsl.event.ChangeFeed;
+
+import javax.persistence.EntityManager;
+
+/**
+ * fileName    : ConfiguredJPAQueryFactory
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : select/selectFrom/from 으로 만든 쿼리에 QuerydslProperties 를 기본 힌트로 넣어준다.
+ * 쿼리마다 다르게 주고 싶으면 .setHint(QueryHints.HINT_FETCH_SIZE, n) 으로 덮어쓰면 됨.
+ * 요청 마감(QueryDeadline)이 있으면 실행 직전의 남은 시간을 query timeout 으로 건다 (DeadlineJPAQuery).
+ * querydsl.guard.enabled 면 GuardedJPAQuery 를 만들어서 위험한 쿼리를 실행 전에 검사한다.
+ * update/delete(벌크)는 실행할 때 ChangeFeed 에 BulkChangeEvent 를 남긴다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 3:00 오후  hyechan        최초 생성
+ */
+public class ConfiguredJPAQueryFactory extends JPAQueryFactory {
+
+    private final EntityManager em;
+    private final QuerydslProperties properties;
+    private final ChangeFeed changeFeed;
+
+    public ConfiguredJPAQueryFactory(EntityManager em, QuerydslProperties properties, ChangeFeed changeFeed) {
+        super(em);
+        this.em = em;
+        this.properties = properties;
+        this.changeFeed = changeFeed;
+    }
+
+    @Override
+    public JPAUpdateClause update(EntityPath<?> path) {
+        return new ChangeRecordingUpdateClause(em, path, changeFeed);
+    }
+
+    @Override
+    public JPADeleteClause delete(EntityPath<?> path) {
+        return new ChangeRecordingDeleteClause(em, path, changeFeed);
+    }
+
+    @Override
+    public JPAQuery<?> query() {
+        JPAQuery<?> query = properties.getGuard().isEnabled()
+                ? new GuardedJPAQuery<Void>(em, properties.getGuard())
+                : new DeadlineJPAQuery<Void>(em);
+        if (properties.getFetchSize() != null) {
+            query.setHint(QueryHints.HINT_FETCH_SIZE, properties.getFetchSize());
+        }
+        return query;
+    }
+}
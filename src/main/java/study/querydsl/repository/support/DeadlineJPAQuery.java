@@ -0,0 +1,49 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+/**
+ * fileName    : DeadlineJPAQuery
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : fetch/fetchOne/fetchCount/stream 이 javax Query 를 만드는 순간(createQuery)에 요청 마감(QueryDeadline)을 건다.
+ * 팩토리에서 쿼리를 만들 때 걸면 PageableExecutionUtils 처럼 나중에 실행되는 count 쿼리가 지난 timeout 을 들고 간다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오후  hyechan        최초 생성
+ */
+public class DeadlineJPAQuery<T> extends JPAQuery<T> {
+
+    private final EntityManager em;
+
+    public DeadlineJPAQuery(EntityManager em) {
+        super(em);
+        this.em = em;
+    }
+
+    protected DeadlineJPAQuery(EntityManager em, JPQLTemplates templates, QueryMetadata metadata) {
+        super(em, templates, metadata);
+        this.em = em;
+    }
+
+    @Override
+    protected Query createQuery(QueryModifiers modifiers, boolean forCount) {
+        Query query = super.createQuery(modifiers, forCount);
+        QueryDeadline.applyTo(query, em);
+        return query;
+    }
+
+    @Override
+    public DeadlineJPAQuery<T> clone(EntityManager entityManager, JPQLTemplates templates) {
+        DeadlineJPAQuery<T> q = new DeadlineJPAQuery<>(entityManager, templates, getMetadata().clone());
+        q.clone(this);
+        return q;
+    }
+}
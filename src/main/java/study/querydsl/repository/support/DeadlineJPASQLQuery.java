@@ -0,0 +1,35 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.sql.JPASQLQuery;
+import com.querydsl.sql.SQLTemplates;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+/**
+ * fileName    : DeadlineJPASQLQuery
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : DeadlineJPAQuery 의 JPASQLQuery 판. fetch/fetchOne/stream 이 Query 를 만들 때 요청 마감을 건다.
+ * (fetchCount 는 querydsl 내부 private 경로라 안 걸린다. count 는 select(count(*)).fetchOne() 으로)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오후  hyechan        최초 생성
+ */
+public class DeadlineJPASQLQuery<T> extends JPASQLQuery<T> {
+
+    private final EntityManager em;
+
+    public DeadlineJPASQLQuery(EntityManager em, SQLTemplates templates) {
+        super(em, templates);
+        this.em = em;
+    }
+
+    @Override
+    public Query createQuery() {
+        Query query = super.createQuery();
+        QueryDeadline.applyTo(query, em);
+        return query;
+    }
+}
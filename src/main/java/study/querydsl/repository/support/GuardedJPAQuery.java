@@ -0,0 +1,159 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.jpa.JPQLTemplates;
+import lombok.extern.slf4j.Slf4j;
+import study.querydsl.configuration.QuerydslProperties;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * fileName    : GuardedJPAQuery
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 실행 직전에 쿼리 모양을 보고 공유 DB 를 터뜨릴 만한 것을 막는다.
+ * 1. 카테시안 곱 : from(member, team) 인데 where 에 team 이 안 나옴, on 없는 엔티티 조인(join(team))
+ * 2. 무제한 조회 : large-entities 를 where 도 limit 도 없이 fetch() (findAll_Querydsl 같은 것)
+ * 3. 행 수 초과 : fetch() 결과가 max-rows 보다 많음
+ * stream()/iterate() 는 커서로 읽어서 메모리에 다 안 올리니 1번만 본다. (전체 적재용으로 쓰는 경로)
+ * 검사 결과 처리는 querydsl.guard.action (QueryGuardAction).
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 9:00 오후  hyechan        최초 생성
+ */
+@Slf4j
+public class GuardedJPAQuery<T> extends DeadlineJPAQuery<T> {
+
+    private final QuerydslProperties.Guard guard;
+
+    public GuardedJPAQuery(EntityManager em, QuerydslProperties.Guard guard) {
+        super(em);
+        this.guard = guard;
+    }
+
+    private GuardedJPAQuery(EntityManager em, JPQLTemplates templates, QueryMetadata metadata,
+                            QuerydslProperties.Guard guard) {
+        super(em, templates, metadata);
+        this.guard = guard;
+    }
+
+    @Override
+    public List<T> fetch() {
+        QueryMetadata metadata = getMetadata();
+        Long limit = metadata.getModifiers().getLimit();
+        int maxRows = guard.getMaxRows();
+
+        if (isUnbounded(metadata)) {
+            violation("where/limit 없는 전체 조회");
+        }
+        if (guard.getAction() != QueryGuardAction.LOG && (limit == null || limit > maxRows)) {
+            // 한 건만 더 읽어서 넘었는지 본다 (테이블 전체를 올리지 않게). CAP 도 max-rows 로 딱 자르면 넘었는지 모른다
+            limit(maxRows + 1L);
+        }
+
+        List<T> result = super.fetch();
+        if (result.size() > maxRows) {
+            boolean capped = guard.getAction() == QueryGuardAction.CAP;
+            violation(capped
+                    ? "결과가 max-rows=" + maxRows + " 를 넘어서 잘랐음"
+                    : "결과 " + result.size() + "건, max-rows=" + maxRows);
+            if (capped) {
+                return new ArrayList<>(result.subList(0, maxRows));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected Query createQuery(QueryModifiers modifiers, boolean forCount) {
+        String cartesian = cartesianRoot(getMetadata());
+        if (cartesian != null) {
+            violation("카테시안 곱. 조인 조건 없는 루트=" + cartesian);
+        }
+        return super.createQuery(modifiers, forCount);
+    }
+
+    @Override
+    public GuardedJPAQuery<T> clone(EntityManager entityManager, JPQLTemplates templates) {
+        GuardedJPAQuery<T> q = new GuardedJPAQuery<>(entityManager, templates, getMetadata().clone(), guard);
+        q.clone(this);
+        return q;
+    }
+
+    private void violation(String reason) {
+        if (guard.getAction() == QueryGuardAction.ABORT) {
+            throw new QueryGuardException("query guard: " + reason + " / " + this);
+        }
+        log.warn("query guard: {} / {}", reason, this);
+    }
+
+    /**
+     * 조건 없이 곱해지는 루트. 없으면 null
+     */
+    static String cartesianRoot(QueryMetadata metadata) {
+        Set<Path<?>> referenced = new HashSet<>();
+        collectRoots(metadata.getWhere(), referenced);
+
+        boolean first = true;
+        for (JoinExpression join : metadata.getJoins()) {
+            Expression<?> target = join.getTarget();
+            if (join.getType() == JoinType.DEFAULT) {
+                // from 의 두 번째 루트부터는 where 에서 걸려야 한다
+                if (!first && target instanceof Path && !referenced.contains(target)) {
+                    return target.toString();
+                }
+                first = false;
+            } else if (join.getCondition() == null && target instanceof Path && ((Path<?>) target).getMetadata().isRoot()) {
+                // join(member.team) 은 연관관계라 괜찮고, join(team) 처럼 엔티티를 on 없이 붙이면 곱이 된다
+                return target.toString();
+            }
+        }
+        return null;
+    }
+
+    boolean isUnbounded(QueryMetadata metadata) {
+        if (metadata.getWhere() != null || metadata.getModifiers().getLimit() != null
+                || !metadata.getGroupBy().isEmpty() || isAggregate(metadata.getProjection())) {
+            return false;
+        }
+        for (JoinExpression join : metadata.getJoins()) {
+            if (join.getType() == JoinType.DEFAULT
+                    && guard.getLargeEntities().contains(join.getTarget().getType().getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAggregate(Expression<?> projection) {
+        return projection instanceof Operation && ((Operation<?>) projection).getOperator() instanceof Ops.AggOps;
+    }
+
+    private static void collectRoots(Object expression, Set<Path<?>> roots) {
+        if (expression instanceof Path) {
+            roots.add(((Path<?>) expression).getRoot());
+        } else if (expression instanceof Operation) {
+            for (Expression<?> arg : ((Operation<?>) expression).getArgs()) {
+                collectRoots(arg, roots);
+            }
+        } else if (expression instanceof TemplateExpression) {
+            for (Object arg : ((TemplateExpression<?>) expression).getArgs()) {
+                collectRoots(arg, roots);
+            }
+        }
+    }
+}
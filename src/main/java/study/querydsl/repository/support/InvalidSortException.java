@@ -0,0 +1,17 @@
+package study.querydsl.repository.support;
+
+/**
+ * fileName    : InvalidSortException
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 허용하지 않은 정렬 키. 컨트롤러에서 400 으로 내려간다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 7:00 오후  hyechan        최초 생성
+ */
+public class InvalidSortException extends IllegalArgumentException {
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package study.querydsl.repository.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * fileName    : MemberShardSchema
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : 샤드 하나에 member/team 테이블을 만든다 (엔티티 ddl-auto 결과와 같은 모양, H2 문법).
+ * 샤드마다 hibernate_sequence 를 샤드 번호에서 시작해 샤드 수만큼 건너뛰게 만든다.
+ * 그래서 i 번 샤드가 만든 id 는 전부 floorMod(id, 샤드 수) == i 이고, 샤드끼리 id 가 겹치지 않는다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 2:00 오후  hyechan        최초 생성
+ */
+public final class MemberShardSchema {
+
+    private MemberShardSchema() {
+    }
+
+    public static void create(MemberShards.Shard shard, int shardCount) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard.getDataSource());
+        // 0 번 샤드는 0 부터 시작하면 안 되니 shardCount 부터
+        long start = shard.getIndex() == 0 ? shardCount : shard.getIndex();
+        jdbcTemplate.execute("create sequence if not exists hibernate_sequence start with " + start
+                + " increment by " + shardCount);
+        jdbcTemplate.execute("create table if not exists team (id bigint not null, name varchar(255), primary key (id))");
+        jdbcTemplate.execute("create table if not exists member (member_id bigint not null, age integer not null, "
+                + "team_name varchar(255), username varchar(255), username_normalized varchar(255), team_id bigint, "
+                + "activity_count bigint default 0 not null, primary key (member_id))");
+        jdbcTemplate.execute("create index if not exists idx_team_name on team (name)");
+        jdbcTemplate.execute("create index if not exists idx_member_username on member (username, member_id)");
+        jdbcTemplate.execute("create index if not exists idx_member_age on member (age, member_id)");
+        jdbcTemplate.execute("create index if not exists idx_member_team_name on member (team_name, member_id)");
+        jdbcTemplate.execute("create index if not exists idx_member_username_normalized on member (username_normalized, member_id)");
+        jdbcTemplate.execute("create index if not exists idx_member_team_age on member (team_id, age, member_id)");
+    }
+}
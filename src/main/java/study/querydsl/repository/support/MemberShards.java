@@ -0,0 +1,177 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * fileName    : MemberShards
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : member/team 샤드 목록. 샤드마다 DataSource + querydsl-sql SQLQueryFactory.
+ * 팀 id 로 라우팅한다: floorMod(teamId, 샤드 수). 팀 없는 회원은 0번 샤드.
+ * scatter 는 모든 샤드에 같은 작업을 동시에 돌린다. 요청 마감(QueryDeadline)도 같이 넘긴다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 2:00 오후  hyechan        최초 생성
+ */
+@Slf4j
+public class MemberShards implements AutoCloseable {
+
+    private final List<Shard> shards;
+    private final ExecutorService executor;
+    private final AtomicInteger nextTeamShard = new AtomicInteger();
+
+    private MemberShards(List<Shard> shards, int threads) {
+        this.shards = Collections.unmodifiableList(shards);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "member-shard-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 순서대로 0, 1, 2 ... 번 샤드. 접속해서 DB 종류를 보고 SQLTemplates 를 고른다
+     */
+    public static MemberShards of(List<DataSource> dataSources, int threads) throws SQLException {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("샤드가 하나도 없습니다");
+        }
+        List<Shard> shards = new ArrayList<>(dataSources.size());
+        for (DataSource dataSource : dataSources) {
+            SqlDialect dialect;
+            try (Connection connection = dataSource.getConnection()) {
+                dialect = SqlDialect.of(connection.getMetaData());
+            }
+            shards.add(new Shard(shards.size(), dataSource, dialect));
+        }
+        return new MemberShards(shards, threads);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public Shard shard(int index) {
+        return shards.get(index);
+    }
+
+    public List<Shard> all() {
+        return shards;
+    }
+
+    public Shard route(Long teamId) {
+        return teamId != null ? shards.get(Math.floorMod(teamId, shards.size())) : shards.get(0);
+    }
+
+    /**
+     * 새 팀을 만들 샤드. 돌아가면서
+     */
+    public Shard nextForNewTeam() {
+        return shards.get(Math.floorMod(nextTeamShard.getAndIncrement(), shards.size()));
+    }
+
+    /**
+     * 모든 샤드에서 task 를 동시에. 결과는 샤드 번호 순. 하나라도 실패하면 그 예외를 그대로 던진다
+     */
+    public <T> List<T> scatter(Function<Shard, T> task) {
+        if (shards.size() == 1) {
+            return Collections.singletonList(task.apply(shards.get(0)));
+        }
+        QueryDeadline.Scope deadline = QueryDeadline.current();
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                QueryDeadline.restore(deadline);
+                try {
+                    return task.apply(shard);
+                } finally {
+                    QueryDeadline.clear();
+                }
+            }, executor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (Shard shard : shards) {
+            if (shard.dataSource instanceof Closeable) {
+                try {
+                    ((Closeable) shard.dataSource).close();
+                } catch (IOException e) {
+                    log.warn("샤드 DataSource 닫기 실패. shard={}", shard.index, e);
+                }
+            }
+        }
+    }
+
+    public static class Shard {
+
+        private final int index;
+        private final DataSource dataSource;
+        private final SQLQueryFactory queryFactory;
+
+        private Shard(int index, DataSource dataSource, SqlDialect dialect) {
+            this.index = index;
+            this.dataSource = dataSource;
+            this.queryFactory = new SQLQueryFactory(new Configuration(dialect.templates()), dataSource);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * insert/update 용. 문장마다 커넥션을 받아서 바로 커밋된다 (auto-commit)
+         */
+        public SQLQueryFactory queryFactory() {
+            return queryFactory;
+        }
+
+        /**
+         * 조회용. SqlQueryFactory 처럼 요청 마감을 실행 직전에 query timeout 으로 건다
+         */
+        public SQLQuery<?> query() {
+            SQLQuery<?> query = queryFactory.query();
+            query.addListener(QueryDeadline.SQL_LISTENER);
+            return query;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListener;
+import com.querydsl.sql.SQLListenerContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.dao.QueryTimeoutException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * fileName    : QueryDeadline
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 현재 스레드(요청)의 마감 시각. RequestDeadlineFilter 가 넣고 뺀다.
+ * 쿼리를 실행하기 직전(applyTo)에 남은 시간을 JDBC query timeout 으로 걸어서, 마감이 지나면 드라이버가 Statement 를 cancel 한다.
+ * 이미 지났거나 요청이 취소됐으면 DB 에 보내지도 않고 QueryTimeoutException.
+ * 요청이 취소되면(클라이언트 끊김) Scope.cancel 이 그 요청이 쓴 세션/Statement 의 실행 중인 쿼리를 다른 스레드에서 cancel 한다.
+ * querydsl-sql(SQLQuery) 은 SQL_LISTENER 를 붙이면 같은 일을 PreparedStatement 에 직접 한다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 10:00 오후  hyechan        최초 생성
+ */
+public final class QueryDeadline {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * SQLQuery.addListener 용. 실행 직전에 timeout 을 걸고, 실행하는 동안만 취소 대상으로 등록
+     */
+    public static final SQLListener SQL_LISTENER = new SQLBaseListener() {
+        @Override
+        public void preExecute(SQLListenerContext context) {
+            PreparedStatement statement = context.getPreparedStatement();
+            Integer timeout = timeoutSeconds();
+            if (statement == null || timeout == null) {
+                return;
+            }
+            try {
+                statement.setQueryTimeout(timeout);
+            } catch (SQLException e) {
+                throw new IllegalStateException("query timeout 설정 실패", e);
+            }
+            CURRENT.get().track(statement);
+        }
+
+        @Override
+        public void end(SQLListenerContext context) {
+            Scope scope = CURRENT.get();
+            if (scope != null && context.getPreparedStatement() != null) {
+                scope.statements.remove(context.getPreparedStatement());
+            }
+        }
+    };
+
+    private QueryDeadline() {
+    }
+
+    public static Scope start(long timeoutMillis) {
+        Scope scope = new Scope(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 다른 스레드로 넘길 때 (MemberShards). 마감이 없으면 null
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    public static void restore(Scope scope) {
+        if (scope != null) {
+            CURRENT.set(scope);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * JDBC query timeout 으로 쓸 남은 시간(초). 마감이 없으면 null.
+     * JDBC 는 초 단위라 올림한다. 0 은 '무제한' 이라 최소 1초.
+     * 실행 직전에 불러야 한다. 쿼리를 만들 때 구하면 나중에 실행되는 쿼리(PageableExecutionUtils 의 count)는 지난 값을 쓴다
+     */
+    public static Integer timeoutSeconds() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return null;
+        }
+        if (scope.cancelReason != null) {
+            throw new QueryTimeoutException("request cancelled: " + scope.cancelReason);
+        }
+        long remaining = scope.deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new QueryTimeoutException("request deadline exceeded");
+        }
+        return (int) Math.max(1, (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * 만든 Query 를 실행하기 직전에. 남은 시간을 timeout 힌트로 걸고, 요청이 취소되면 cancel 할 수 있게 세션을 기억한다
+     */
+    public static void applyTo(Query query, EntityManager em) {
+        Integer timeout = timeoutSeconds();
+        if (timeout == null) {
+            return;
+        }
+        // javax.persistence.query.timeout(ms) 는 초로 반올림하면서 0(무제한)이 될 수 있어서 초 단위 힌트로
+        query.setHint(QueryHints.HINT_TIMEOUT, timeout);
+        CURRENT.get().track(em);
+    }
+
+    /**
+     * 요청 하나의 마감과 그 요청이 쓴 세션들
+     */
+    @Slf4j
+    public static final class Scope {
+
+        // System.nanoTime() 기준
+        private final long deadline;
+        private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+        private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+        private volatile String cancelReason;
+
+        private Scope(long deadline) {
+            this.deadline = deadline;
+        }
+
+        public boolean isCancelled() {
+            return cancelReason != null;
+        }
+
+        /**
+         * 다른 스레드에서 불러도 된다 (Session.cancelQuery 는 그렇게 쓰라고 있는 메소드).
+         * 이후 이 요청에서 만드는 쿼리는 실행 전에 QueryTimeoutException
+         */
+        public void cancel(String reason) {
+            cancelReason = reason;
+            for (Session session : sessions) {
+                try {
+                    session.cancelQuery();
+                } catch (RuntimeException e) {
+                    // 이미 닫힌 세션, 실행 중인 쿼리 없음
+                    log.debug("쿼리 cancel 실패. reason={}", reason, e);
+                }
+            }
+            for (Statement statement : statements) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    log.debug("쿼리 cancel 실패. reason={}", reason, e);
+                }
+            }
+        }
+
+        private void track(EntityManager em) {
+            sessions.add(em.unwrap(Session.class));
+            checkNotCancelled();
+        }
+
+        private void track(Statement statement) {
+            statements.add(statement);
+            checkNotCancelled();
+        }
+
+        // 등록하는 사이에 취소됐으면 보내지 않는다
+        private void checkNotCancelled() {
+            if (cancelReason != null) {
+                throw new QueryTimeoutException("request cancelled: " + cancelReason);
+            }
+        }
+    }
+}
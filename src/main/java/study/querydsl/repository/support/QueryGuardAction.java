@@ -0,0 +1,18 @@
+package study.querydsl.repository.support;
+
+/**
+ * fileName    : QueryGuardAction
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : GuardedJPAQuery 가 위험한 쿼리를 만났을 때 할 일.
+ * LOG   : 경고 로그만 남기고 그대로 실행
+ * CAP   : fetch() 는 max-rows + 1 건까지만 읽고, 넘었으면 경고 후 max-rows 로 잘라서 돌려줌
+ * ABORT : 실행하지 않고 QueryGuardException
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 9:00 오후  hyechan        최초 생성
+ */
+public enum QueryGuardAction {
+    LOG, CAP, ABORT
+}
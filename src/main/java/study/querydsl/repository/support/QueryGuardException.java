@@ -0,0 +1,17 @@
+package study.querydsl.repository.support;
+
+/**
+ * fileName    : QueryGuardException
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : querydsl.guard.action=abort 일 때 막힌 쿼리. 쿼리를 고쳐야 하는 버그라 500 으로 둔다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 9:00 오후  hyechan        최초 생성
+ */
+public class QueryGuardException extends IllegalStateException {
+    public QueryGuardException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,76 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.MySQLTemplates;
+import com.querydsl.sql.OracleTemplates;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLServer2012Templates;
+import com.querydsl.sql.SQLTemplates;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * fileName    : SqlDialect
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 접속한 DB 에 맞는 querydsl-sql SQLTemplates 와 지원 기능.
+ * window function(count(*) over() 등)은 H2 1.4.198+, MySQL 8+, PostgreSQL, Oracle, SQL Server 만.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 5:00 오후  hyechan        최초 생성
+ */
+public class SqlDialect {
+
+    private final SQLTemplates templates;
+    private final boolean windowFunctions;
+
+    public SqlDialect(SQLTemplates templates, boolean windowFunctions) {
+        this.templates = templates;
+        this.windowFunctions = windowFunctions;
+    }
+
+    public static SqlDialect of(DatabaseMetaData metaData) throws SQLException {
+        String product = metaData.getDatabaseProductName().toLowerCase(Locale.ROOT);
+        int major = metaData.getDatabaseMajorVersion();
+        int minor = metaData.getDatabaseMinorVersion();
+
+        if (product.contains("h2")) {
+            // 1.4.198 부터 window function 지원. 버전 문자열이 "1.4.200 (2019-10-14)" 꼴이라 patch 는 직접 파싱
+            return new SqlDialect(new H2Templates(), major > 1 || (major == 1 && minor > 4)
+                    || (major == 1 && minor == 4 && h2Patch(metaData.getDatabaseProductVersion()) >= 198));
+        }
+        if (product.contains("mysql") || product.contains("mariadb")) {
+            return new SqlDialect(new MySQLTemplates(), product.contains("mariadb") ? major >= 10 : major >= 8);
+        }
+        if (product.contains("postgresql")) {
+            return new SqlDialect(new PostgreSQLTemplates(), true);
+        }
+        if (product.contains("oracle")) {
+            return new SqlDialect(new OracleTemplates(), true);
+        }
+        if (product.contains("microsoft sql server")) {
+            return new SqlDialect(new SQLServer2012Templates(), true);
+        }
+        return new SqlDialect(SQLTemplates.DEFAULT, false);
+    }
+
+    public SQLTemplates templates() {
+        return templates;
+    }
+
+    public boolean supportsWindowFunctions() {
+        return windowFunctions;
+    }
+
+    private static int h2Patch(String version) {
+        String[] parts = version.split("[ .]");
+        try {
+            return parts.length > 2 ? Integer.parseInt(parts[2]) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.sql.JPASQLQuery;
+
+import javax.persistence.EntityManager;
+
+/**
+ * fileName    : SqlQueryFactory
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : JPASQLQuery 용 JPAQueryFactory. 접속한 DB 의 SQLTemplates 를 쓰고, 요청 마감(QueryDeadline)을 실행 직전에 timeout 으로 건다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오후  hyechan        최초 생성
+ */
+public class SqlQueryFactory {
+
+    private final EntityManager em;
+    private final SqlDialect dialect;
+
+    public SqlQueryFactory(EntityManager em, SqlDialect dialect) {
+        this.em = em;
+        this.dialect = dialect;
+    }
+
+    public SqlDialect dialect() {
+        return dialect;
+    }
+
+    public JPASQLQuery<?> query() {
+        return new DeadlineJPASQLQuery<Void>(em, dialect.templates());
+    }
+}
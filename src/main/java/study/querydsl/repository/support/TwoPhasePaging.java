@@ -0,0 +1,74 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * fileName    : TwoPhasePaging
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 엔티티 페이징을 "id 먼저, 그 다음 fetch join" 두 번으로 나눠서 한다.
+ * 컬렉션 fetch join + offset/limit 을 같이 쓰면 하이버네이트가 전체를 다 읽고 메모리에서 페이징한다.
+ * (HHH000104: firstResult/maxResults specified with collection fetch; applying in memory!)
+ * 1. 조건/정렬로 루트 id 만 페이징해서 가져오고
+ * 2. where id in (:ids) 로 연관관계까지 fetch join 한 다음
+ * 3. 1번 id 순서대로 다시 정렬한다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 4:00 오후  hyechan        최초 생성
+ */
+public final class TwoPhasePaging {
+
+    private TwoPhasePaging() {
+    }
+
+    /**
+     * @param idQuery    where, orderBy 까지 붙은 id 조회 쿼리 (offset/limit 은 여기서 붙인다)
+     * @param loader     id 목록으로 엔티티 + 연관관계를 fetch join 해서 가져오는 쿼리
+     * @param idOf       엔티티 -> id
+     * @param countQuery 전체 건수. 필요할 때만 실행된다.
+     */
+    public static <T> Page<T> page(JPAQuery<Long> idQuery,
+                                   Pageable pageable,
+                                   Function<List<Long>, ? extends Collection<T>> loader,
+                                   Function<T, Long> idOf,
+                                   LongSupplier countQuery) {
+        List<Long> ids = idQuery
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+        List<T> content = ids.isEmpty()
+                ? new ArrayList<>()
+                : orderByIds(ids, loader.apply(ids), idOf);
+        return PageableExecutionUtils.getPage(content, pageable, countQuery);
+    }
+
+    /**
+     * in 절 결과는 순서 보장이 없으니까 id 목록 순서대로 맞춘다.
+     */
+    public static <T> List<T> orderByIds(List<Long> ids, Collection<T> entities, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>(entities.size() * 2);
+        for (T entity : entities) {
+            byId.putIfAbsent(idOf.apply(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+}
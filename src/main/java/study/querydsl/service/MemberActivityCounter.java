@@ -0,0 +1,209 @@
+package study.querydsl.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * fileName    : MemberActivityCounter
+ * author      : hyechan
+ * date        : 2026/10/20
+ * description : member.activity_count 쓰기 지연(write-behind) 카운터.
+ * 회원 하나에 초당 수천 번씩 update ... set activity_count = activity_count + 1 을 날리면 같은 행 락에 줄을 선다.
+ * 대신 메모리에서 회원별 LongAdder 에 더해두고, flush 때 회원마다 update 한 번 (더한 값 그대로) 으로 모아서 쓴다.
+ * 내구성
+ * 1. increment 는 DB 에 아무것도 안 한다. 호출한 쪽 트랜잭션과 무관하고, 그 트랜잭션이 롤백돼도 안 빠진다
+ * 2. flush 주기(interval-ms) 동안 쌓인 값은 프로세스가 죽으면(kill -9, OOM) 없어진다. 정상 종료면 @PreDestroy 에서 쓴다
+ * 3. flush 가 실패한 값은 다시 메모리로 돌려놓고 다음 flush 에서 다시 쓴다. 지워진 회원 몫은 버린다
+ * 4. 그래서 DB 값은 최대 한 주기 + flush 한 번 걸리는 시간만큼 늦고, 정상 운영 중에는 빠지거나 두 번 더해지지 않는다.
+ *    flush 는 전용 스레드에서 돈다. @Scheduled 스레드를 같이 쓰면 스냅샷 저장, 재계산 같은 긴 작업 뒤에 밀린다.
+ *    DB 가 느리거나 막히면 그만큼 더 늦어진다 (실패한 값은 3 처럼 다음 flush 로)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/20 6:00 오후  hyechan        최초 생성
+ */
+@Slf4j
+@Component
+public class MemberActivityCounter {
+
+    static final String INCREMENT_SQL = "update member set activity_count = activity_count + ? where member_id = ?";
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "member-activity-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 정기 flush 와 종료 flush 가 겹치지 않게
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public MemberActivityCounter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                 @Value("${member-activity.batch-size:500}") int batchSize,
+                                 @Value("${member-activity.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void increment(Long memberId) {
+        increment(memberId, 1);
+    }
+
+    public void increment(Long memberId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        Counter counter = counters.get(memberId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(memberId, id -> new Counter());
+        }
+        counter.delta.add(delta);
+        if (counter.retired) {
+            // flush 가 이 카운터를 map 에서 뺀 뒤에 더했을 수 있다. 남은 값을 직접 꺼내서 새 카운터로 옮긴다.
+            // flush 쪽 마지막 sumThenReset 과 여기 중 한 쪽만 값을 가져가니 빠지거나 두 번 세지 않는다
+            long orphan = counter.delta.sumThenReset();
+            if (orphan != 0) {
+                increment(memberId, orphan);
+            }
+        }
+    }
+
+    /**
+     * 아직 DB 에 안 쓴 값 (테스트, 모니터링용)
+     */
+    public long pending(Long memberId) {
+        Counter counter = counters.get(memberId);
+        return counter != null ? counter.delta.sum() : 0;
+    }
+
+    public int pendingMembers() {
+        return counters.size();
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // 예외가 나가면 ScheduledExecutorService 가 다음 주기를 안 돌린다
+            log.warn("활동 카운터 flush 실패. 다음 주기에 다시", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flusher.shutdown();
+        int updated = flush();
+        if (updated > 0) {
+            log.info("종료 전 활동 카운터 flush. members={}", updated);
+        }
+    }
+
+    /**
+     * 쌓인 값을 DB 에 쓴다. member_id 순으로 batch-size 씩, 배치마다 트랜잭션 하나
+     * (여러 서버가 동시에 flush 해도 같은 순서로 행 락을 잡아서 데드락이 안 난다)
+     *
+     * @return 갱신한 member 수
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            TreeMap<Long, Long> deltas = drain();
+            if (deltas.isEmpty()) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            int updated = 0;
+            List<Object[]> batch = new ArrayList<>(Math.min(batchSize, deltas.size()));
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                batch.add(new Object[]{entry.getValue(), entry.getKey()});
+                if (batch.size() == batchSize) {
+                    updated += write(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                updated += write(batch);
+            }
+            log.debug("활동 카운터 flush. members={}, updated={}, {}ms",
+                    deltas.size(), updated, (System.nanoTime() - start) / 1_000_000);
+            return updated;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 회원별로 쌓인 값을 꺼내고 0 으로. 지난 flush 이후 한 번도 안 불린 카운터는 map 에서 뺀다
+    private TreeMap<Long, Long> drain() {
+        TreeMap<Long, Long> deltas = new TreeMap<>();
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            long delta = counter.delta.sumThenReset();
+            if (delta == 0) {
+                // retired 를 먼저 세우고 빼야 increment 쪽이 뒤늦게 더한 값을 알아챈다
+                counter.retired = true;
+                counters.remove(entry.getKey(), counter);
+                delta = counter.delta.sumThenReset();
+            }
+            if (delta != 0) {
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+        return deltas;
+    }
+
+    private int write(List<Object[]> batch) {
+        try {
+            int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INCREMENT_SQL, batch));
+            int updated = 0;
+            for (int count : counts) {
+                // SUCCESS_NO_INFO(-2) 도 반영된 것
+                if (count != 0) {
+                    updated++;
+                }
+            }
+            if (updated < batch.size()) {
+                log.debug("없는 회원의 활동 카운터 {}건 버림", batch.size() - updated);
+            }
+            return updated;
+        } catch (RuntimeException e) {
+            log.warn("활동 카운터 flush 실패. 다음 flush 때 다시 씀. members={}", batch.size(), e);
+            for (Object[] row : batch) {
+                increment((Long) row[1], (Long) row[0]);
+            }
+            return 0;
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder delta = new LongAdder();
+        private volatile boolean retired;
+    }
+}
@@ -0,0 +1,100 @@
+package study.querydsl.service;
+
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.QTeam;
+
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * fileName    : TeamNameConsistencyChecker
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : member.team_name 이 team.name 과 어긋난 행을 찾아서 고친다.
+ * TeamService.rename 을 안 거친 변경(직접 SQL, 배치 등)으로 생긴 차이를 주기적으로 메운다.
+ * member_id 순으로 batch-size 씩 끊어서, 배치마다 트랜잭션을 따로 잡는다. (락을 오래 안 잡게)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 7:00 오후  hyechan        최초 생성
+ */
+@Slf4j
+@Component
+public class TeamNameConsistencyChecker {
+
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TeamNameConsistencyChecker(JPAQueryFactory queryFactory, PlatformTransactionManager transactionManager,
+                                      @Value("${team-name-check.batch-size:500}") int batchSize) {
+        this.queryFactory = queryFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${team-name-check.interval-ms:600000}",
+            initialDelayString = "${team-name-check.interval-ms:600000}")
+    public void scheduledRepair() {
+        long repaired = repair();
+        if (repaired > 0) {
+            log.warn("member.team_name 불일치 {}건 수정", repaired);
+        }
+    }
+
+    /**
+     * @return 고친 member 수
+     */
+    public long repair() {
+        long repaired = 0;
+        Long lastId = 0L;
+        while (true) {
+            Long after = lastId;
+            Long[] result = transactionTemplate.execute(status -> repairBatch(after));
+            if (result == null) {
+                break;
+            }
+            repaired += result[0];
+            lastId = result[1];
+        }
+        return repaired;
+    }
+
+    // {고친 수, 마지막 member_id}. 더 없으면 null
+    private Long[] repairBatch(Long afterId) {
+        List<Long> ids = queryFactory
+                .select(member.id)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.gt(afterId),
+                        team.id.isNull().and(member.teamName.isNotNull())
+                                .or(team.id.isNotNull().and(member.teamName.isNull().or(member.teamName.ne(team.name)))))
+                .orderBy(member.id.asc())
+                .limit(batchSize)
+                .fetch();
+        if (ids.isEmpty()) {
+            return null;
+        }
+
+        // 팀이 없으면 서브쿼리 결과가 null 이라 team_name 도 null 이 된다
+        QTeam current = new QTeam("current");
+        long updated = queryFactory
+                .update(member)
+                .set(member.teamName, JPAExpressions
+                        .select(current.name)
+                        .from(current)
+                        .where(current.id.eq(member.team.id)))
+                .where(member.id.in(ids))
+                .execute();
+        return new Long[]{updated, ids.get(ids.size() - 1)};
+    }
+}
@@ -0,0 +1,73 @@
+package study.querydsl.service;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.Map;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * fileName    : TeamService
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 팀 변경. team.name 을 바꾸면 비정규화된 member.team_name 도 같은 트랜잭션에서 맞춘다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 7:00 오후  hyechan        최초 생성
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamService {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * @return 같이 바뀐 member 수
+     */
+    @Transactional
+    public long rename(Long teamId, String newName) {
+        Team team = em.find(Team.class, teamId);
+        if (team == null) {
+            throw new IllegalArgumentException("team not found. id=" + teamId);
+        }
+        team.setName(newName);
+        em.flush();
+
+        // 벌크 연산은 영속성 컨텍스트를 안 거친다. 이미 올라온 이 팀 member 가 옛 이름을 들고 있지 않게 떼어낸다
+        long updated = queryFactory
+                .update(member)
+                .set(member.teamName, newName)
+                .where(member.team.id.eq(teamId))
+                .execute();
+        detachMembersOf(teamId);
+        return updated;
+    }
+
+    // em.clear() 는 호출한 쪽이 들고 있던 다른 엔티티까지 전부 준영속으로 만든다. 벌크 update 가 건드린 행만 뗀다.
+    // 위에서 flush 했으니 떼어내도 잃는 변경은 없다. 다음 조회 때 새 team_name 으로 다시 읽힌다
+    private void detachMembersOf(Long teamId) {
+        Map.Entry<Object, EntityEntry>[] entries = em.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal()
+                .reentrantSafeEntityEntries();
+        for (Map.Entry<Object, EntityEntry> entry : entries) {
+            if (!(entry.getKey() instanceof Member)) {
+                continue;
+            }
+            Member m = (Member) entry.getKey();
+            // 프록시여도 getId 는 초기화하지 않는다
+            if (m.getTeam() != null && teamId.equals(m.getTeam().getId())) {
+                em.detach(m);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package study.querydsl.sql;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.PrimaryKey;
+import com.querydsl.sql.RelationalPathBase;
+
+import java.sql.Types;
+
+import static com.querydsl.core.types.PathMetadataFactory.forVariable;
+
+/**
+ * fileName    : SMember
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : member 테이블 querydsl-sql 메타모델 (JPASQLQuery 용).
+ * QMember 는 엔티티 기준이라 네이티브 쿼리에선 못 쓴다. 컬럼은 하이버네이트 네이밍 전략 결과 그대로.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 5:00 오후  hyechan        최초 생성
+ */
+public class SMember extends RelationalPathBase<SMember> {
+
+    public static final SMember member = new SMember("m");
+
+    public final NumberPath<Long> memberId = createNumber("memberId", Long.class);
+    public final StringPath username = createString("username");
+    public final NumberPath<Integer> age = createNumber("age", Integer.class);
+    public final NumberPath<Long> teamId = createNumber("teamId", Long.class);
+    public final StringPath teamName = createString("teamName");
+    public final StringPath usernameNormalized = createString("usernameNormalized");
+    public final NumberPath<Long> activityCount = createNumber("activityCount", Long.class);
+
+    public final PrimaryKey<SMember> primary = createPrimaryKey(memberId);
+
+    public SMember(String variable) {
+        this(forVariable(variable));
+    }
+
+    public SMember(PathMetadata metadata) {
+        super(SMember.class, metadata, "", "MEMBER");
+        addMetadata();
+    }
+
+    private void addMetadata() {
+        addMetadata(memberId, ColumnMetadata.named("MEMBER_ID").withIndex(1).ofType(Types.BIGINT).notNull());
+        addMetadata(username, ColumnMetadata.named("USERNAME").withIndex(2).ofType(Types.VARCHAR));
+        addMetadata(age, ColumnMetadata.named("AGE").withIndex(3).ofType(Types.INTEGER).notNull());
+        addMetadata(teamId, ColumnMetadata.named("TEAM_ID").withIndex(4).ofType(Types.BIGINT));
+        addMetadata(teamName, ColumnMetadata.named("TEAM_NAME").withIndex(5).ofType(Types.VARCHAR));
+        addMetadata(usernameNormalized, ColumnMetadata.named("USERNAME_NORMALIZED").withIndex(6).ofType(Types.VARCHAR));
+        addMetadata(activityCount, ColumnMetadata.named("ACTIVITY_COUNT").withIndex(7).ofType(Types.BIGINT).notNull());
+    }
+}
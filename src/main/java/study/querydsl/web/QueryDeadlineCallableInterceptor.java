@@ -0,0 +1,56 @@
+package study.querydsl.web;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import study.querydsl.repository.support.QueryDeadline;
+
+import java.util.concurrent.Callable;
+
+/**
+ * fileName    : QueryDeadlineCallableInterceptor
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : Callable 핸들러가 도는 스레드에 요청의 QueryDeadline 을 옮기고,
+ * 컨테이너가 에러(클라이언트 끊김)나 async 타임아웃을 알리면 그 요청이 실행 중인 쿼리를 cancel 한다.
+ * 끊김을 언제 알리는지는 컨테이너마다 다르다 (Tomcat 은 async 중 소켓이 닫히면 onError).
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 11:00 오후  hyechan        최초 생성
+ */
+public class QueryDeadlineCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        QueryDeadline.restore(scope(request));
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        QueryDeadline.clear();
+    }
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+        cancel(request, "async request timeout");
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> Object handleError(NativeWebRequest request, Callable<T> task, Throwable t) {
+        cancel(request, "client disconnected");
+        return RESULT_NONE;
+    }
+
+    private static void cancel(NativeWebRequest request, String reason) {
+        QueryDeadline.Scope scope = scope(request);
+        if (scope != null) {
+            scope.cancel(reason);
+        }
+    }
+
+    private static QueryDeadline.Scope scope(NativeWebRequest request) {
+        return (QueryDeadline.Scope) request.getAttribute(RequestDeadlineFilter.SCOPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
@@ -0,0 +1,64 @@
+package study.querydsl.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import study.querydsl.repository.support.QueryDeadline;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * fileName    : RequestDeadlineFilter
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : 요청마다 마감을 잡아서 QueryDeadline 에 넣는다. 헤더가 있으면 헤더 값, 없으면 기본값.
+ * 마감은 쿼리 실행 직전마다 남은 시간으로 JDBC timeout 이 되어서, 끊긴 요청의 쿼리도 늦어도 마감 시각에는 취소된다.
+ * 요청 스레드에서 도는 핸들러는 클라이언트가 끊어도 응답을 쓰기 전까지 알 수 없다.
+ * Callable 을 돌려주는 핸들러는 요청 스레드가 먼저 컨테이너로 돌아가서 끊김을 받을 수 있으므로
+ * Scope 를 요청 속성(SCOPE_ATTRIBUTE)으로 넘겨 QueryDeadlineCallableInterceptor 가 바로 cancel 한다.
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 10:00 오후  hyechan        최초 생성
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String SCOPE_ATTRIBUTE = RequestDeadlineFilter.class.getName() + ".SCOPE";
+
+    private final RequestDeadlineProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(SCOPE_ATTRIBUTE, QueryDeadline.start(timeoutMillis(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryDeadline.clear();
+        }
+    }
+
+    long timeoutMillis(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header == null) {
+            return properties.getDefaultTimeoutMs();
+        }
+        try {
+            long requested = Long.parseLong(header.trim());
+            return requested > 0 ? Math.min(requested, properties.getMaxTimeoutMs()) : properties.getDefaultTimeoutMs();
+        } catch (NumberFormatException e) {
+            return properties.getDefaultTimeoutMs();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package study.querydsl.web;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * fileName    : RequestDeadlineProperties
+ * author      : hyechan
+ * date        : 2026/10/19
+ * description : request-deadline.* 요청별 DB 쿼리 마감 (RequestDeadlineFilter)
+ * ====================================================
+ * DATE              AUTHOR               NOTE
+ * ----------------------------------------------------
+ * 2026/10/19 10:00 오후  hyechan        최초 생성
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "request-deadline")
+public class RequestDeadlineProperties {
+    private boolean enabled = true;
+    // 클라이언트가 직접 마감(ms)을 줄 때 쓰는 헤더
+    private String header = "X-Request-Timeout-Ms";
+    private long defaultTimeoutMs = 5000;
+    // 헤더로 이보다 길게는 못 준다
+    private long maxTimeoutMs = 30000;
+    // Callable 핸들러(/v1, /v2 members)를 돌리는 스레드 수. 0 이면 Hikari maximum-pool-size 를 따른다
+    private int asyncThreads = 0;
+    // 스레드가 다 차면 이만큼만 줄 세우고 넘치면 503
+    private int asyncQueueCapacity = 100;
+}
@@ -0,0 +1,153 @@
+package study.querydsl.entity;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * build.gradle 의 하이버네이트 바이트코드 향상 확인 + flush 비용/엔티티당 메모리 측정.
+ * 향상은 빌드 때 정해져서 한 번에 비교할 수 없다. 측정(flushCostAndMemory)은 test 에서 빠지고
+ * benchmark 태스크로만 돈다. 아래 두 번 돌려서 로그를 비교한다
+ *   ./gradlew clean benchmark -PnoEnhance
+ *   ./gradlew clean benchmark
+ */
+@SpringBootTest
+@Transactional
+class EntityEnhancementTest {
+
+    static final int ENTITIES = 5_000;
+    static final int ROUNDS = 5;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Test
+    public void enhancedAsConfigured() throws Exception{
+        boolean enhanced = SelfDirtinessTracker.class.isAssignableFrom(Member.class);
+        System.out.println("Member 바이트코드 향상 = " + enhanced);
+        String expected = System.getProperty("hibernate.enhance.expected");
+        if (expected != null) {
+            assertThat(enhanced).isEqualTo(Boolean.parseBoolean(expected));
+            assertThat(ManagedEntity.class.isAssignableFrom(Team.class)).isEqualTo(Boolean.parseBoolean(expected));
+        }
+    }
+
+    @Test
+    public void changeTeamAddsMemberOnce() throws Exception{
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        member1.changeTeam(teamA);
+
+        assertThat(teamA.getMembers()).containsExactly(member1);
+    }
+
+    @Test
+    public void changeTeamDoesNotLoadLazyMembers() throws Exception{
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.flush();
+        em.clear();
+
+        Team found = em.find(Team.class, teamA.getId());
+        Member member2 = new Member("member2", 20, found);
+        //향상 여부와 상관없이 안 읽은 team.members 는 건드리지 않는다
+        assertThat(Hibernate.isInitialized(found.getMembers())).isFalse();
+        em.persist(member2);
+        em.flush();
+        em.clear();
+
+        assertThat(em.find(Team.class, teamA.getId()).getMembers()).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2");
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void flushCostAndMemory() throws Exception{
+        String prefix = "enhance-" + UUID.randomUUID() + "-";
+        Team team = new Team(prefix + "team");
+        em.persist(team);
+        for (int i = 0; i < ENTITIES; i++) {
+            em.persist(new Member(prefix + i, i % 100, team));
+            if (i % 500 == 499) {
+                em.flush();
+                em.clear();
+                team = em.find(Team.class, team.getId());
+            }
+        }
+        em.flush();
+        em.clear();
+
+        long[] flushNanos = new long[ROUNDS];
+        long bytesPerEntity = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = usedHeap();
+            List<Member> members = queryFactory
+                    .selectFrom(member)
+                    .where(member.username.startsWith(prefix))
+                    .fetch();
+            long loaded = usedHeap();
+            assertThat(members).hasSize(ENTITIES);
+            bytesPerEntity = (loaded - before) / ENTITIES;
+
+            // 읽고 1% 만 고치는 배치 작업 모양
+            for (int i = 0; i < members.size(); i += 100) {
+                members.get(i).setAge(members.get(i).getAge() + 1);
+            }
+            long start = System.nanoTime();
+            em.flush();
+            flushNanos[round] = System.nanoTime() - start;
+            em.clear();
+        }
+
+        assertThat(queryFactory
+                .select(member.age.sum())
+                .from(member)
+                .where(member.username.startsWith(prefix))
+                .fetchOne())
+                .isEqualTo(sumOfAges() + ROUNDS * (ENTITIES / 100));
+
+        System.out.printf("향상=%s, 관리 엔티티 %,d건, 1%% 수정 flush 평균 %,dus (첫 회 제외), 엔티티당 약 %,d bytes%n",
+                SelfDirtinessTracker.class.isAssignableFrom(Member.class), ENTITIES,
+                averageExcludingFirst(flushNanos) / 1_000, bytesPerEntity);
+    }
+
+    // 나이 = i % 100
+    private static int sumOfAges() {
+        return ENTITIES / 100 * (99 * 100 / 2);
+    }
+
+    private static long averageExcludingFirst(long[] nanos) {
+        long sum = 0;
+        for (int i = 1; i < nanos.length; i++) {
+            sum += nanos[i];
+        }
+        return sum / (nanos.length - 1);
+    }
+
+    // 대략적인 값. GC 를 부탁하고 잰다
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,98 @@
+package study.querydsl.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 스프링 컨텍스트 없이 ChangeFeed 의 전달 순서만 본다. 배치 하나 = member 이벤트 하나, memberId 로 구분
+ */
+class ChangeFeedDispatchTest {
+
+    final List<ChangeBatch> received = new CopyOnWriteArrayList<>();
+    ChangeFeed changeFeed;
+
+    @AfterEach
+    public void after() throws Exception{
+        changeFeed.stop();
+    }
+
+    @Test
+    public void dropBatchesCommittedBeforeStart() throws Exception{
+        changeFeed = feed(8, received::add);
+        changeFeed.publish(batch(1));
+        changeFeed.publish(batch(2));
+
+        changeFeed.start();
+        changeFeed.publish(batch(3));
+
+        assertThat(changeFeed.awaitDelivered(5000)).isTrue();
+        assertThat(memberIds()).containsExactly(3L);
+        assertThat(received.get(0).getSequence()).isEqualTo(1);
+    }
+
+    @Test
+    public void listenerCommitIntoFullBufferKeepsOrder() throws Exception{
+        CountDownLatch firstReceived = new CountDownLatch(1);
+        CountDownLatch bufferFilled = new CountDownLatch(1);
+        CountDownLatch lastReceived = new CountDownLatch(1);
+        changeFeed = feed(2, batch -> {
+            received.add(batch);
+            if (memberId(batch) == 4L) {
+                lastReceived.countDown();
+            }
+            if (memberId(batch) == 1L) {
+                firstReceived.countDown();
+                await(bufferFilled);
+                //버퍼(2칸)에 2, 3 이 있는 상태에서 리스너가 커밋
+                changeFeed.publish(batch(4));
+            }
+        });
+        changeFeed.start();
+
+        changeFeed.publish(batch(1));
+        await(firstReceived);
+        changeFeed.publish(batch(2));
+        changeFeed.publish(batch(3));
+        bufferFilled.countDown();
+
+        await(lastReceived);
+        assertThat(memberIds()).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    private ChangeFeed feed(int bufferSize, Consumer<ChangeBatch> listener) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("listener", (ChangeFeedListener) listener::accept);
+        return new ChangeFeed(beanFactory.getBeanProvider(ChangeFeedListener.class), bufferSize);
+    }
+
+    private List<Long> memberIds() {
+        return received.stream().map(ChangeFeedDispatchTest::memberId).collect(Collectors.toList());
+    }
+
+    private static long memberId(ChangeBatch batch) {
+        return ((MemberChangeEvent) batch.getEvents().get(0)).getMemberId();
+    }
+
+    private static List<ChangeEvent> batch(long memberId) {
+        return Collections.singletonList(MemberChangeEvent.created(new MemberState(memberId, "member" + memberId, 10, null, null)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package study.querydsl.event;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 커밋/롤백을 실제로 해야 해서 @Transactional 없이. 만든 행은 끝나고 지운다
+ */
+@SpringBootTest
+class ChangeFeedTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    ChangeFeed changeFeed;
+
+    @Autowired
+    RecordingListener listener;
+
+    TransactionTemplate transaction;
+    String teamName;
+    Long teamId;
+
+    @BeforeEach
+    public void before() {
+        transaction = new TransactionTemplate(transactionManager);
+        teamName = "feed-" + UUID.randomUUID();
+        changeFeed.awaitDelivered(5000);
+        listener.batches.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        if (teamId != null) {
+            transaction.executeWithoutResult(status -> {
+                queryFactory.delete(member).where(member.team.id.eq(teamId)).execute();
+                queryFactory.delete(team).where(team.id.eq(teamId)).execute();
+            });
+        }
+    }
+
+    @Test
+    public void oneBatchPerCommit() throws Exception{
+        teamId = transaction.execute(status -> {
+            Team teamA = new Team(teamName);
+            em.persist(teamA);
+            em.persist(new Member("feed1", 10, teamA));
+            em.persist(new Member("feed2", 20, teamA));
+            return teamA.getId();
+        });
+
+        assertThat(changeFeed.awaitDelivered(5000)).isTrue();
+        List<ChangeBatch> batches = batchesOf(teamId);
+        assertThat(batches).hasSize(1);
+        List<ChangeEvent> events = batches.get(0).getEvents();
+        // flush 순서 그대로
+        assertThat(events).hasSize(3);
+        assertThat(events.get(0)).isInstanceOfSatisfying(TeamChangeEvent.class, event -> {
+            assertThat(event.getType()).isEqualTo(TeamChangeEvent.Type.CREATED);
+            assertThat(event.getAfter()).isEqualTo(new TeamState(teamId, teamName));
+        });
+        assertThat(events.subList(1, 3)).allSatisfy(event ->
+                assertThat(event).isInstanceOfSatisfying(MemberChangeEvent.class, memberEvent -> {
+                    assertThat(memberEvent.getType()).isEqualTo(MemberChangeEvent.Type.CREATED);
+                    assertThat(memberEvent.getAfter().getTeamId()).isEqualTo(teamId);
+                }));
+
+        transaction.executeWithoutResult(status -> em.find(Team.class, teamId).setName(teamName + "-renamed"));
+        assertThat(changeFeed.awaitDelivered(5000)).isTrue();
+        List<ChangeBatch> renamed = batchesOf(teamId);
+        assertThat(renamed).hasSize(2);
+        assertThat(renamed.get(1).getSequence()).isGreaterThan(renamed.get(0).getSequence());
+        assertThat(renamed.get(1).getEvents()).singleElement().isInstanceOfSatisfying(TeamChangeEvent.class, event -> {
+            assertThat(event.getBefore().getName()).isEqualTo(teamName);
+            assertThat(event.getAfter().getName()).isEqualTo(teamName + "-renamed");
+        });
+    }
+
+    @Test
+    public void rollbackPublishesNothing() throws Exception{
+        transaction.executeWithoutResult(status -> {
+            em.persist(new Team(teamName));
+            em.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(changeFeed.awaitDelivered(5000)).isTrue();
+        assertThat(listener.batches).flatExtracting(ChangeBatch::getEvents)
+                .filteredOn(event -> event instanceof TeamChangeEvent
+                        && ((TeamChangeEvent) event).getAfter() != null
+                        && teamName.equals(((TeamChangeEvent) event).getAfter().getName()))
+                .isEmpty();
+    }
+
+    @Test
+    public void bulkUpdateAndDelete() throws Exception{
+        teamId = transaction.execute(status -> {
+            Team teamA = new Team(teamName);
+            em.persist(teamA);
+            em.persist(new Member("feed1", 10, teamA));
+            em.persist(new Member("feed2", 20, teamA));
+            return teamA.getId();
+        });
+        changeFeed.awaitDelivered(5000);
+        listener.batches.clear();
+
+        transaction.executeWithoutResult(status -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .where(member.team.id.eq(teamId))
+                .execute());
+        transaction.executeWithoutResult(status -> queryFactory
+                .delete(member)
+                .where(member.team.id.eq(teamId), member.age.gt(20))
+                .execute());
+
+        assertThat(changeFeed.awaitDelivered(5000)).isTrue();
+        List<BulkChangeEvent> bulks = listener.batches.stream()
+                .flatMap(batch -> batch.getEvents().stream())
+                .filter(event -> event instanceof BulkChangeEvent)
+                .map(event -> (BulkChangeEvent) event)
+                .filter(event -> event.getWhere() != null && event.getWhere().toString().contains(teamId.toString()))
+                .collect(Collectors.toList());
+        // 행마다가 아니라 문장마다 하나
+        assertThat(bulks).hasSize(2);
+
+        BulkChangeEvent update = bulks.get(0);
+        assertThat(update.getType()).isEqualTo(BulkChangeEvent.Type.UPDATE);
+        assertThat(update.isFor(Member.class)).isTrue();
+        assertThat(update.getChangedProperties()).containsExactly("age");
+        assertThat(update.getAffectedRows()).isEqualTo(2);
+        assertThat(update.touches("age")).isTrue();
+        assertThat(update.touches("username")).isFalse();
+
+        BulkChangeEvent delete = bulks.get(1);
+        assertThat(delete.getType()).isEqualTo(BulkChangeEvent.Type.DELETE);
+        assertThat(delete.getAffectedRows()).isEqualTo(1);
+        assertThat(delete.touches("username")).isTrue();
+    }
+
+    private List<ChangeBatch> batchesOf(Long teamId) {
+        return listener.batches.stream()
+                .filter(batch -> batch.getEvents().stream().anyMatch(event ->
+                        event instanceof TeamChangeEvent && teamId.equals(((TeamChangeEvent) event).getTeamId())))
+                .collect(Collectors.toList());
+    }
+
+    static class RecordingListener implements ChangeFeedListener {
+
+        final List<ChangeBatch> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onChanges(ChangeBatch batch) {
+            batches.add(batch);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingListenerConfiguration {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package study.querydsl.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChangeRingBufferTest {
+
+    @Test
+    public void offerAndPoll() throws Exception{
+        ChangeRingBuffer<String> buffer = new ChangeRingBuffer<>(4);
+
+        assertThat(buffer.poll()).isNull();
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer("v" + i)).isTrue();
+        }
+        // 꽉 참
+        assertThat(buffer.offer("v4")).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isEqualTo("v0");
+        assertThat(buffer.offer("v4")).isTrue();
+        assertThat(List.of(buffer.poll(), buffer.poll(), buffer.poll(), buffer.poll())).containsExactly("v1", "v2", "v3", "v4");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    public void rejectCapacityNotPowerOfTwo() throws Exception{
+        assertThatThrownBy(() -> new ChangeRingBuffer<>(6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void manyProducersOneConsumer() throws Exception{
+        int producers = 4;
+        int perProducer = 100_000;
+        ChangeRingBuffer<long[]> buffer = new ChangeRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    long[] item = {producer, i};
+                    while (!buffer.offer(item)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        long[] nextExpected = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            long[] item = buffer.poll();
+            if (item == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            // 생산자별로는 넣은 순서대로, 빠짐없이 한 번씩
+            assertThat(item[1]).isEqualTo(nextExpected[(int) item[0]]);
+            nextExpected[(int) item[0]]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(buffer.poll()).isNull();
+        assertThat(nextExpected).containsOnly(perProducer);
+    }
+}
@@ -0,0 +1,147 @@
+package study.querydsl.id;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TimeOrderedIdsTest {
+
+    @Test
+    public void layout() throws Exception{
+        long now = TimeOrderedIds.EPOCH_MILLIS + 123_456_789L;
+        TimeOrderedIds ids = new TimeOrderedIds(1023, () -> now);
+
+        long first = ids.next();
+        long second = ids.next();
+
+        assertThat(first).isPositive();
+        assertThat(TimeOrderedIds.timestampOf(first)).isEqualTo(now);
+        assertThat(TimeOrderedIds.nodeOf(first)).isEqualTo(1023);
+        assertThat(second).isEqualTo(first + 1);
+    }
+
+    @Test
+    public void rejectNodeOutOfRange() throws Exception{
+        assertThatThrownBy(() -> new TimeOrderedIds(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimeOrderedIds(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void borrowNextMillisWhenSequenceRunsOut() throws Exception{
+        long now = TimeOrderedIds.EPOCH_MILLIS + 1_000;
+        TimeOrderedIds ids = new TimeOrderedIds(7, () -> now);
+
+        long last = 0;
+        for (int i = 0; i < 4096; i++) {
+            last = ids.next();
+        }
+        assertThat(TimeOrderedIds.timestampOf(last)).isEqualTo(now);
+
+        // 같은 ms 에 4097 번째. 기다리지 않고 다음 ms 로
+        long borrowed = ids.next();
+        assertThat(borrowed).isGreaterThan(last);
+        assertThat(TimeOrderedIds.timestampOf(borrowed)).isEqualTo(now + 1);
+        assertThat(TimeOrderedIds.nodeOf(borrowed)).isEqualTo(7);
+    }
+
+    @Test
+    public void clockGoingBackwards() throws Exception{
+        AtomicLong clock = new AtomicLong(TimeOrderedIds.EPOCH_MILLIS + 10_000);
+        TimeOrderedIds ids = new TimeOrderedIds(3, clock::get);
+
+        long before = ids.next();
+        clock.addAndGet(-5_000);
+        long after = ids.next();
+        clock.addAndGet(10_000);
+        long later = ids.next();
+
+        assertThat(after).isEqualTo(before + 1);
+        assertThat(later).isGreaterThan(after);
+        assertThat(TimeOrderedIds.timestampOf(later)).isEqualTo(clock.get());
+    }
+
+    @Test
+    public void group() throws Exception{
+        TimeOrderedIdGroups groups = new TimeOrderedIdGroups();
+        TimeOrderedIds ids = groups.group("member", 5);
+
+        assertThat(groups.group("member", 5)).isSameAs(ids);
+        assertThatThrownBy(() -> groups.group("member", 6)).isInstanceOf(IllegalStateException.class);
+        //컨텍스트(묶음)가 다르면 서로 모른다
+        assertThat(new TimeOrderedIdGroups().group("member", 6).getNode()).isEqualTo(6);
+    }
+
+    @Test
+    public void jsonAsString() throws Exception{
+        long id = new TimeOrderedIds(1).next();
+        assertThat(id).isGreaterThan(1L << 53);
+
+        JsonNode json = new ObjectMapper().valueToTree(new MemberTeamDto(id, "member1", 10, id + 1, "teamA"));
+
+        //JS number(double) 로 읽히지 않게 문자열
+        assertThat(json.get("memberId").isTextual()).isTrue();
+        assertThat(json.get("memberId").asText()).isEqualTo(String.valueOf(id));
+        assertThat(json.get("teamId").asText()).isEqualTo(String.valueOf(id + 1));
+    }
+
+    @Test
+    public void noCollisionUnderContention() throws Exception{
+        int threads = 16;
+        int perThread = 200_000;
+        TimeOrderedIds ids = new TimeOrderedIds(42);
+        long[][] generated = new long[threads][perThread];
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long[] out = generated[t];
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    out[i] = ids.next();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        long[] all = new long[threads * perThread];
+        for (int t = 0; t < threads; t++) {
+            // 스레드 하나가 받은 id 는 계속 커진다
+            for (int i = 1; i < perThread; i++) {
+                if (generated[t][i] <= generated[t][i - 1]) {
+                    fail("스레드 " + t + " 에서 id 가 줄었음: " + generated[t][i - 1] + " -> " + generated[t][i]);
+                }
+            }
+            System.arraycopy(generated[t], 0, all, t * perThread, perThread);
+        }
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) {
+                fail("중복 id " + all[i]);
+            }
+        }
+        assertThat(TimeOrderedIds.nodeOf(all[0])).isEqualTo(42);
+        System.out.printf("%,d ids / %,d threads: %,d ids/s%n",
+                all.length, threads, all.length * 1_000_000_000L / elapsed);
+    }
+}
@@ -0,0 +1,171 @@
+package study.querydsl.importer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import study.querydsl.id.TimeOrderedIdGroups;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 로컬 H2 인메모리에 엔티티와 같은 테이블을 만들어 놓고 파일 -> DB 까지 통째로
+ */
+class MemberCsvImporterTest {
+
+    @TempDir
+    Path dir;
+
+    JdbcTemplate jdbcTemplate;
+    MemberCsvImporter importer;
+    MemberImportProperties properties = new MemberImportProperties();
+
+    @BeforeEach
+    public void before() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:import-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create sequence hibernate_sequence start with 1 increment by 1");
+        jdbcTemplate.execute("create table team (id bigint not null, name varchar(255), primary key (id), "
+                + "constraint uk_team_name unique (name))");
+        jdbcTemplate.execute("create table member (member_id bigint not null, age integer not null, "
+                + "team_name varchar(255), username varchar(255), username_normalized varchar(255), "
+                + "team_id bigint, primary key (member_id))");
+
+        // 청크가 여러 개 나오게 작게
+        properties.setThreads(4);
+        properties.setChunkSizeBytes(4 * 1024);
+        properties.setBatchSize(100);
+        properties.setMaxRetries(1);
+        importer = new MemberCsvImporter(dataSource, new DataSourceTransactionManager(dataSource), properties, new TimeOrderedIdGroups(), 0);
+    }
+
+    @Test
+    public void importFile() throws Exception{
+        List<String> lines = new ArrayList<>();
+        lines.add("username,age,teamName");
+        for (int i = 0; i < 10000; i++) {
+            lines.add("Member" + i + "," + (i % 100) + ",team" + (i % 5));
+        }
+        Path csv = write(lines);
+
+        ImportResult result = importer.importFile(csv);
+
+        assertThat(result.getChunks()).isGreaterThan(1);
+        assertThat(result.getImportedRows()).isEqualTo(10000);
+        assertThat(result.getRejectedRows()).isZero();
+        assertThat(result.getFailedChunks()).isEmpty();
+        assertThat(count("select count(*) from member")).isEqualTo(10000);
+        assertThat(count("select count(distinct member_id) from member")).isEqualTo(10000);
+        // 청크끼리 동시에 만들어도 팀은 이름당 하나
+        assertThat(count("select count(*) from team")).isEqualTo(5);
+        assertThat(count("select count(*) from member m join team t on m.team_id = t.id and m.team_name = t.name"))
+                .isEqualTo(10000);
+        assertThat(jdbcTemplate.queryForObject(
+                "select username_normalized from member where username = 'Member42'", String.class))
+                .isEqualTo("member42");
+    }
+
+    @Test
+    public void reuseExistingTeamAndSkipBadLines() throws Exception{
+        jdbcTemplate.update("insert into team (id, name) values (next value for hibernate_sequence, 'teamA')");
+        Long teamA = jdbcTemplate.queryForObject("select id from team where name = 'teamA'", Long.class);
+        Path csv = write(List.of(
+                "member1,10,teamA",
+                "\"kim, jr\",20,teamB",
+                "member3,30,",
+                "member4,abc,teamA",
+                ",40,teamA",
+                "\"unclosed,50,teamA"));
+
+        ImportResult result = importer.importFile(csv);
+
+        assertThat(result.getImportedRows()).isEqualTo(3);
+        assertThat(result.getRejectedRows()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("select team_id from member where username = 'member1'", Long.class))
+                .isEqualTo(teamA);
+        assertThat(jdbcTemplate.queryForObject("select team_name from member where username = 'kim, jr'", String.class))
+                .isEqualTo("teamB");
+        assertThat(jdbcTemplate.queryForObject("select team_id from member where username = 'member3'", Long.class))
+                .isNull();
+    }
+
+    @Test
+    public void failedChunkRollsBack() throws Exception{
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            lines.add("member" + i + "," + i + ",teamA");
+        }
+        // varchar(255) 를 넘겨서 이 줄이 든 청크만 실패
+        lines.add(1000, "x".repeat(300) + ",1,teamA");
+        Path csv = write(lines);
+
+        ImportResult result = importer.importFile(csv);
+
+        assertThat(result.getFailedChunks()).hasSize(1);
+        ImportResult.FailedChunk failed = result.getFailedChunks().get(0);
+        assertThat(failed.getEndOffset()).isGreaterThan(failed.getStartOffset());
+        // 실패한 청크는 한 줄도 안 들어가고 나머지는 다 들어간다
+        assertThat(count("select count(*) from member")).isEqualTo(result.getImportedRows());
+        assertThat(result.getImportedRows()).isLessThan(2000).isGreaterThan(0);
+    }
+
+    @Test
+    public void concurrentImportsShareTeams() throws Exception{
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            first.add("first" + i + "," + (i % 100) + ",team" + (i % 5));
+            second.add("second" + i + "," + (i % 100) + ",team" + (i % 5));
+        }
+        Path firstCsv = write("first.csv", first);
+        Path secondCsv = write("second.csv", second);
+
+        // 캐시가 호출마다 따로라 서로 모르고 같은 팀을 만들려 한다. 늦은 쪽은 uk_team_name 충돌 후 먼저 만든 팀을 쓴다
+        CompletableFuture<ImportResult> other = CompletableFuture.supplyAsync(() -> importer.importFile(secondCsv));
+        ImportResult result = importer.importFile(firstCsv);
+
+        assertThat(result.getImportedRows()).isEqualTo(5000);
+        assertThat(other.get().getImportedRows()).isEqualTo(5000);
+        assertThat(count("select count(*) from team")).isEqualTo(5);
+        assertThat(count("select count(*) from member m join team t on m.team_id = t.id and m.team_name = t.name"))
+                .isEqualTo(10000);
+    }
+
+    @Test
+    public void split() throws Exception{
+        Path csv = write(List.of("a,1", "bb,2", "ccc,3"));
+        try (FileChannel channel = FileChannel.open(csv)) {
+            List<long[]> chunks = MemberCsvImporter.split(channel, 3);
+
+            // 3 바이트마다 자르되 줄 중간에서는 안 끊긴다 (a,1\n = 4, bb,2\n = 5, ccc,3\n = 6)
+            assertThat(chunks).extracting(chunk -> chunk[0]).containsExactly(0L, 4L, 9L);
+            assertThat(chunks).extracting(chunk -> chunk[1]).containsExactly(4L, 9L, 15L);
+        }
+    }
+
+    private Path write(List<String> lines) throws Exception {
+        return write("members.csv", lines);
+    }
+
+    private Path write(String name, List<String> lines) throws Exception {
+        Path csv = dir.resolve(name);
+        Files.write(csv, lines, StandardCharsets.UTF_8);
+        return csv;
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,89 @@
+package study.querydsl.readmodel;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.AgeBucketDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.ChangeFeed;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class AgeHistogramTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ChangeFeed changeFeed;
+
+    TeamStatsReadModel teamStatsReadModel;
+    AgeHistogram ageHistogram;
+    Team teamA;
+
+    @BeforeEach
+    public void before(){
+        teamStatsReadModel = new TeamStatsReadModel(queryFactory, transactionManager, changeFeed);
+        ageHistogram = new AgeHistogram(teamStatsReadModel, queryFactory);
+
+        teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 25, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("noTeam", 30));
+        em.flush();
+    }
+
+    @Test
+    public void defaultBucketsLikeComplexCase() throws Exception{
+        List<AgeBucketDto> fromDb = ageHistogram.histogram(AgeBuckets.DEFAULT, null);
+
+        assertThat(fromDb).extracting("label").containsExactly("0~20", "21~30", "31~");
+        assertThat(fromDb).extracting("count").containsExactly(2L, 2L, 1L);
+
+        teamStatsReadModel.recompute();
+        assertThat(ageHistogram.histogram(AgeBuckets.DEFAULT, null)).isEqualTo(fromDb);
+    }
+
+    @Test
+    public void customBucketsAndTeam() throws Exception{
+        AgeBuckets buckets = AgeBuckets.of(Arrays.asList(15, 30));
+        List<AgeBucketDto> fromDb = ageHistogram.loadFromDatabase(buckets, teamA.getId());
+
+        assertThat(fromDb).extracting("label").containsExactly("0~14", "15~29", "30~");
+        assertThat(fromDb).extracting("count").containsExactly(1L, 1L, 0L);
+
+        teamStatsReadModel.recompute();
+        assertThat(ageHistogram.histogram(buckets, teamA.getId())).isEqualTo(fromDb);
+        assertThat(ageHistogram.histogram(buckets, null)).isEqualTo(ageHistogram.loadFromDatabase(buckets, null));
+    }
+
+    @Test
+    public void invalidEdges() throws Exception{
+        assertThatThrownBy(() -> AgeBuckets.of(Arrays.asList(0, 30, 20)))
+                .isInstanceOf(InvalidAgeBucketsException.class);
+        assertThatThrownBy(() -> AgeBuckets.of(Arrays.asList(-1, 10)))
+                .isInstanceOf(InvalidAgeBucketsException.class);
+    }
+}
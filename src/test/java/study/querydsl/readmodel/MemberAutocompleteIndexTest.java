@@ -0,0 +1,55 @@
+package study.querydsl.readmodel;
+
+import org.junit.jupiter.api.Test;
+import study.querydsl.event.MemberChangeEvent;
+import study.querydsl.event.MemberState;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemberAutocompleteIndexTest {
+
+    //build() 안 부르는 단위 테스트라 레포지토리는 필요 없음
+    MemberAutocompleteIndex index = new MemberAutocompleteIndex(null, null);
+
+    @Test
+    public void completeByPrefix() throws Exception{
+        index.put(1L, "Member1", "teamA");
+        index.put(2L, "member2", "teamB");
+        index.put(3L, "member2", "teamA");
+        index.put(4L, "other", "teamA");
+
+        assertThat(index.complete("MEM", 10)).extracting("memberId").containsExactly(1L, 2L, 3L);
+        assertThat(index.complete("member2", 1)).extracting("teamName").containsExactly("teamB");
+        assertThat(index.complete("x", 10)).isEmpty();
+        assertThat(index.complete(" ", 10)).isEmpty();
+    }
+
+    @Test
+    public void sameNameOrderedByNumericId() throws Exception{
+        index.put(10L, "kim", "teamA");
+        index.put(9L, "Kim", "teamA");
+        index.put(1_000_000_000_000L, "KIM", "teamB");
+        index.put(2L, "kimchi", "teamB");
+
+        // DB 의 (username_normalized, member_id) 순서와 같아야 한다
+        assertThat(index.complete("kim", 10)).extracting("memberId")
+                .containsExactly(9L, 10L, 1_000_000_000_000L, 2L);
+    }
+
+    @Test
+    public void applyChangeEvents() throws Exception{
+        MemberState created = new MemberState(1L, "member1", 10, 100L, "teamA");
+        MemberState renamed = new MemberState(1L, "renamed", 10, 100L, "teamA");
+
+        index.onMemberChange(MemberChangeEvent.created(created));
+        index.onMemberChange(MemberChangeEvent.updated(created, renamed));
+
+        assertThat(index.complete("mem", 10)).isEmpty();
+        assertThat(index.complete("ren", 10)).extracting("username").containsExactly("renamed");
+
+        index.onMemberChange(MemberChangeEvent.deleted(renamed));
+
+        assertThat(index.complete("ren", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,196 @@
+package study.querydsl.readmodel;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.ChangeEvent;
+import study.querydsl.event.MemberChangeEvent;
+import study.querydsl.event.MemberState;
+import study.querydsl.event.TeamChangeEvent;
+import study.querydsl.event.TeamState;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberSqlRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 검색 규칙은 세 군데서 돈다. MemberSearchPredicates 의 JPQL(where), SQL(whereSql), 읽기 모델의 자바 matches.
+ * 앞의 둘은 같은 shape 에서 나오고 matches 는 손으로 옮긴 것이라, 같은 조건이면 셋 다 결과가 같아야 한다
+ */
+@SpringBootTest
+@Transactional
+class MemberReadModelTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberSqlRepository memberSqlRepository;
+
+    //스냅샷 서비스가 쓰는 빈이랑 섞이지 않게 따로 만든다
+    MemberReadModel readModel;
+
+    @BeforeEach
+    public void before(){
+        readModel = new MemberReadModel(queryFactory);
+
+        Team teamA = new Team("readModelTeamA");
+        Team teamB = new Team("readModelTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("Kim", 10, teamA));
+        em.persist(new Member("kim", 20, teamA));
+        em.persist(new Member("Kimchi", 30, teamB));
+        em.persist(new Member("lee", 40, teamB));
+        em.persist(new Member("KIM", 50, null));
+        em.flush();
+        em.clear();
+
+        // keyset 청크 경계를 여러 번 넘게 작게
+        readModel.replace(readModel.loadFromDatabase(2));
+    }
+
+    @Test
+    public void notReady() throws Exception{
+        MemberReadModel empty = new MemberReadModel(queryFactory);
+
+        assertThat(empty.isReady()).isFalse();
+        assertThat(empty.search(new MemberSearchCondition())).isNull();
+    }
+
+    @Test
+    public void sameResultAsDatabase() throws Exception{
+        assertSameAsDatabase(condition(c -> c.setUsername("kim")));
+        assertSameAsDatabase(condition(c -> {
+            c.setUsername("kim");
+            c.setUsernameIgnoreCase(true);
+        }));
+        assertSameAsDatabase(condition(c -> c.setUsernamePrefix("KI")));
+        assertSameAsDatabase(condition(c -> c.setTeamName("readModelTeamA")));
+        assertSameAsDatabase(condition(c -> {
+            c.setAgeGoe(20);
+            c.setAgeLoe(40);
+        }));
+        assertSameAsDatabase(condition(c -> {
+            c.setUsernamePrefix("kim");
+            c.setTeamName("readModelTeamB");
+            c.setAgeGoe(30);
+        }));
+        assertSameAsDatabase(condition(c -> c.setAgeGoe(45)));
+        assertSameAsDatabase(condition(c -> {
+            c.setAgeGoe(30);
+            c.setAgeLoe(30);
+        }));
+        assertSameAsDatabase(condition(c -> {
+            c.setUsername(" KIM ");
+            c.setUsernameIgnoreCase(true);
+            c.setUsernamePrefix("k");
+        }));
+    }
+
+    @Test
+    public void matches() throws Exception{
+        assertThat(usernames(condition(c -> c.setUsername("kim")))).containsExactly("kim");
+        assertThat(usernames(condition(c -> {
+            c.setUsername("kim");
+            c.setUsernameIgnoreCase(true);
+        }))).containsExactlyInAnyOrder("Kim", "kim", "KIM");
+        assertThat(usernames(condition(c -> c.setUsernamePrefix("KI"))))
+                .containsExactlyInAnyOrder("Kim", "kim", "Kimchi", "KIM");
+        assertThat(usernames(condition(c -> c.setTeamName("readModelTeamB"))))
+                .containsExactlyInAnyOrder("Kimchi", "lee");
+        assertThat(usernames(condition(c -> {
+            c.setAgeGoe(20);
+            c.setAgeLoe(40);
+        }))).containsExactlyInAnyOrder("kim", "Kimchi", "lee");
+    }
+
+    @Test
+    public void applyChangesWithoutDatabase() throws Exception{
+        MemberTeamDto lee = readModel.search(condition(c -> c.setUsername("lee"))).get(0);
+        MemberTeamDto kimchi = readModel.search(condition(c -> c.setUsername("Kimchi"))).get(0);
+        MemberState leeBefore = new MemberState(lee.getMemberId(), "lee", 40, lee.getTeamId(), "readModelTeamB");
+
+        List<ChangeEvent> events = Arrays.asList(
+                MemberChangeEvent.created(new MemberState(999L, "park", 60, lee.getTeamId(), "readModelTeamB")),
+                MemberChangeEvent.updated(leeBefore, new MemberState(lee.getMemberId(), "lee", 41, lee.getTeamId(), "readModelTeamB")),
+                MemberChangeEvent.deleted(new MemberState(kimchi.getMemberId(), "Kimchi", 30, kimchi.getTeamId(), "readModelTeamB")),
+                TeamChangeEvent.updated(new TeamState(lee.getTeamId(), "readModelTeamB"), new TeamState(lee.getTeamId(), "readModelTeamC")));
+        readModel.apply(events);
+
+        assertThat(readModel.pendingChanges()).isEqualTo(3);
+        assertThat(readModel.search(condition(c -> c.setTeamName("readModelTeamB")))).isEmpty();
+        assertThat(readModel.search(condition(c -> c.setTeamName("readModelTeamC"))))
+                .extracting("username", "age")
+                .containsExactlyInAnyOrder(tuple("lee", 41), tuple("park", 60));
+
+        //저장소와 합쳐도 결과는 같다
+        List<MemberTeamDto> beforeCompact = readModel.search(new MemberSearchCondition());
+        readModel.compact();
+        assertThat(readModel.pendingChanges()).isZero();
+        assertThat(readModel.search(new MemberSearchCondition()))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(beforeCompact);
+    }
+
+    @Test
+    public void replayChangesDuringReload() throws Exception{
+        readModel.beginReload();
+        OffHeapMemberStore loaded = readModel.loadFromDatabase(2);
+        //읽는 동안 커밋된 변경
+        readModel.apply(List.of(MemberChangeEvent.created(new MemberState(998L, "choi", 70, null, null))));
+        readModel.replace(loaded);
+
+        assertThat(readModel.search(condition(c -> c.setUsername("choi")))).extracting("age").containsExactly(70);
+    }
+
+    private void assertSameAsDatabase(MemberSearchCondition condition) {
+        List<MemberTeamDto> jpql = memberJpaRepository.search(condition);
+        List<MemberTeamDto> sql = memberSqlRepository.searchPageWithWindowCount(condition, PageRequest.of(0, 10_000))
+                .getContent();
+
+        assertThat(sql)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(jpql);
+        assertThat(readModel.search(condition))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(jpql);
+    }
+
+    // 다른 테스트가 넣은 회원은 빼고 본다
+    private List<String> usernames(MemberSearchCondition condition) {
+        List<String> usernames = new ArrayList<>();
+        for (MemberTeamDto dto : readModel.search(condition)) {
+            if (dto.getTeamName() == null ? dto.getAge() == 50 : dto.getTeamName().startsWith("readModelTeam")) {
+                usernames.add(dto.getUsername());
+            }
+        }
+        return usernames;
+    }
+
+    private static MemberSearchCondition condition(Consumer<MemberSearchCondition> setter) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        setter.accept(condition);
+        return condition;
+    }
+}
@@ -0,0 +1,40 @@
+package study.querydsl.readmodel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemberSnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void writeAndMap() throws Exception{
+        OffHeapMemberStore.Builder builder = OffHeapMemberStore.builder();
+        for (int i = 0; i < 1000; i++) {
+            builder.add((long) i, "member" + i, i % 100, (long) (i % 2), i % 2 == 0 ? "teamA" : "teamB");
+        }
+        OffHeapMemberStore store = builder.build();
+        Path path = dir.resolve("member.snapshot");
+
+        MemberSnapshotFile.write(store, path);
+        OffHeapMemberStore mapped = MemberSnapshotFile.map(path);
+
+        assertThat(mapped.size()).isEqualTo(1000);
+        assertThat(mapped.byteSize()).isEqualTo(store.byteSize());
+        assertThat(mapped.toDto(999)).isEqualTo(store.toDto(999));
+    }
+
+    @Test
+    public void overwrite() throws Exception{
+        Path path = dir.resolve("member.snapshot");
+        MemberSnapshotFile.write(OffHeapMemberStore.builder().add(1L, "member1", 10, null, null).build(), path);
+        MemberSnapshotFile.write(OffHeapMemberStore.empty(), path);
+
+        assertThat(MemberSnapshotFile.map(path).isEmpty()).isTrue();
+    }
+}
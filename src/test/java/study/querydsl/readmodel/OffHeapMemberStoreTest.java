@@ -0,0 +1,115 @@
+package study.querydsl.readmodel;
+
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MemberTeamRow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OffHeapMemberStoreTest {
+
+    @Test
+    public void storeAndRead() throws Exception{
+        List<MemberTeamDto> rows = Arrays.asList(
+                new MemberTeamDto(1L, "member1", 10, 100L, "teamA"),
+                new MemberTeamDto(2L, "회원2", 20, 100L, "teamA"),
+                new MemberTeamDto(3L, null, 30, null, null)
+        );
+
+        OffHeapMemberStore store = OffHeapMemberStore.of(rows);
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.toDto(0)).isEqualTo(rows.get(0));
+        assertThat(store.toDto(1)).isEqualTo(rows.get(1));
+        assertThat(store.toDto(2)).isEqualTo(rows.get(2));
+    }
+
+    @Test
+    public void forEachReusesView() throws Exception{
+        OffHeapMemberStore.Builder builder = OffHeapMemberStore.builder();
+        for (int i = 0; i < 5000; i++) {
+            builder.add((long) i, "member" + i, i % 100, (long) (i % 2), i % 2 == 0 ? "teamA" : "teamB");
+        }
+        OffHeapMemberStore store = builder.build();
+
+        List<MemberTeamRow> seen = new ArrayList<>();
+        List<String> usernames = new ArrayList<>();
+        store.forEach(row -> {
+            seen.add(row);
+            usernames.add(row.getUsername());
+        });
+
+        assertThat(usernames).hasSize(5000);
+        assertThat(usernames.get(4999)).isEqualTo("member4999");
+        //flyweight 라서 전부 같은 객체
+        assertThat(seen.stream().distinct()).hasSize(1);
+    }
+
+    @Test
+    public void wrapCopiedBuffer() throws Exception{
+        OffHeapMemberStore store = OffHeapMemberStore.of(Arrays.asList(
+                new MemberTeamDto(1L, "member1", 10, 100L, "teamA")));
+
+        OffHeapMemberStore wrapped = OffHeapMemberStore.wrap(store.asReadOnlyBuffer());
+
+        assertThat(wrapped.toDto(0)).isEqualTo(store.toDto(0));
+        assertThatThrownBy(() -> wrapped.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void rejectWhenRecordsAndStringsTogetherExceedLimit() throws Exception{
+        // 레코드 32 + 문자열 (4 + 10) * 2 = 60 bytes, 헤더 16 -> 한 건이 76 bytes
+        OffHeapMemberStore.Builder builder = OffHeapMemberStore.builder(100);
+        builder.add(1L, "member0001", 10, 1L, "team000001");
+
+        assertThatThrownBy(() -> builder.add(2L, "member0002", 20, 2L, "team000002"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("100 bytes");
+
+        // 넘친 행은 하나도 안 써졌으니 이전까지로 build 된다
+        OffHeapMemberStore store = builder.build();
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.byteSize()).isEqualTo(76);
+        assertThat(store.toDto(0)).isEqualTo(new MemberTeamDto(1L, "member0001", 10, 1L, "team000001"));
+    }
+
+    @Test
+    public void rejectWrapWhenHeaderDoesNotFitBuffer() throws Exception{
+        OffHeapMemberStore store = OffHeapMemberStore.of(Arrays.asList(
+                new MemberTeamDto(1L, "member1", 10, 100L, "teamA"),
+                new MemberTeamDto(2L, "member2", 20, 100L, "teamA")));
+
+        // 잘린 파일 : 문자열 영역 끝이 모자람
+        ByteBuffer truncated = store.asReadOnlyBuffer();
+        truncated.limit(truncated.limit() - 1);
+        assertThatThrownBy(() -> OffHeapMemberStore.wrap(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // count 가 버퍼보다 큼
+        ByteBuffer badCount = copy(store.asReadOnlyBuffer());
+        badCount.putInt(8, 1_000_000);
+        assertThatThrownBy(() -> OffHeapMemberStore.wrap(badCount))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // 헤더만 있는 버퍼
+        ByteBuffer headerOnly = store.asReadOnlyBuffer();
+        headerOnly.limit(8);
+        assertThatThrownBy(() -> OffHeapMemberStore.wrap(headerOnly))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(OffHeapMemberStore.wrap(OffHeapMemberStore.empty().asReadOnlyBuffer()).size()).isZero();
+    }
+
+    private static ByteBuffer copy(ByteBuffer source) {
+        ByteBuffer copy = ByteBuffer.allocate(source.remaining()).order(ByteOrder.LITTLE_ENDIAN);
+        copy.put(source);
+        copy.clear();
+        return copy;
+    }
+}
@@ -0,0 +1,120 @@
+package study.querydsl.readmodel;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.ChangeFeed;
+import study.querydsl.event.MemberChangeEvent;
+import study.querydsl.event.MemberState;
+import study.querydsl.event.TeamChangeEvent;
+import study.querydsl.event.TeamState;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TeamStatsReadModelTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ChangeFeed changeFeed;
+
+    //기동 때 백그라운드 재계산이 도는 빈이랑 섞이지 않게 따로 만든다
+    TeamStatsReadModel readModel;
+
+    Team teamA;
+    Team teamB;
+
+    @BeforeEach
+    public void before(){
+        readModel = new TeamStatsReadModel(queryFactory, transactionManager, changeFeed);
+
+        teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.flush();
+    }
+
+    @Test
+    public void recomputeMatchesGroupBy() throws Exception{
+        readModel.recompute();
+
+        assertThat(readModel.findAll()).isEqualTo(readModel.loadFromDatabase());
+        TeamStatsDto statsA = readModel.find(teamA.getId());
+        assertThat(statsA.getMemberCount()).isEqualTo(2);
+        assertThat(statsA.getAvgAge()).isEqualTo(15.0);
+        assertThat(statsA.getMinAge()).isEqualTo(10);
+        assertThat(statsA.getMaxAge()).isEqualTo(20);
+    }
+
+    @Test
+    public void applyChangeEvents() throws Exception{
+        readModel.recompute();
+        Long a = teamA.getId();
+        Long b = teamB.getId();
+
+        //teamA 에 50살 추가
+        MemberState created = new MemberState(100L, "member5", 50, a, "teamA");
+        readModel.onMemberChange(MemberChangeEvent.created(created));
+        //member5 를 teamB 로 옮기면서 나이도 바꿈
+        MemberState moved = new MemberState(100L, "member5", 5, b, "teamB");
+        readModel.onMemberChange(MemberChangeEvent.updated(created, moved));
+        //teamA 의 10살 삭제
+        readModel.onMemberChange(MemberChangeEvent.deleted(new MemberState(1L, "member1", 10, a, "teamA")));
+
+        TeamStatsDto statsA = readModel.find(a);
+        assertThat(statsA.getMemberCount()).isEqualTo(1);
+        assertThat(statsA.getMinAge()).isEqualTo(20);
+
+        TeamStatsDto statsB = readModel.find(b);
+        assertThat(statsB.getMemberCount()).isEqualTo(3);
+        assertThat(statsB.getAgeSum()).isEqualTo(75);
+        assertThat(statsB.getMinAge()).isEqualTo(5);
+        assertThat(statsB.getMaxAge()).isEqualTo(40);
+    }
+
+    @Test
+    public void findBeforeReady() throws Exception{
+        assertThat(readModel.isReady()).isFalse();
+
+        TeamStatsDto statsB = readModel.find(teamB.getId());
+        assertThat(statsB.getTeamName()).isEqualTo("teamB");
+        assertThat(statsB.getMemberCount()).isEqualTo(2);
+        assertThat(readModel.find(-1L)).isNull();
+    }
+
+    @Test
+    public void recomputeReloadsTeamNames() throws Exception{
+        readModel.recompute();
+        //이벤트로만 바뀐 이름은 재계산 때 DB 값으로 돌아간다
+        readModel.onTeamChange(TeamChangeEvent.updated(new TeamState(teamA.getId(), "teamA"),
+                new TeamState(teamA.getId(), "renamedOnlyInEvent")));
+        assertThat(readModel.find(teamA.getId()).getTeamName()).isEqualTo("renamedOnlyInEvent");
+
+        readModel.recompute();
+
+        assertThat(readModel.find(teamA.getId()).getTeamName()).isEqualTo("teamA");
+    }
+}
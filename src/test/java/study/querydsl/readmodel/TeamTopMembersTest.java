@@ -0,0 +1,75 @@
+package study.querydsl.readmodel;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.TeamTopMembersDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.MemberChangeEvent;
+import study.querydsl.event.MemberState;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TeamTopMembersTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    TeamTopMembers teamTopMembers;
+    Team teamA;
+    Member oldestMember;
+
+    @BeforeEach
+    public void before(){
+        teamTopMembers = new TeamTopMembers(queryFactory, 3);
+
+        teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int age = 10; age <= 50; age += 10) {
+            Member member = new Member("member" + age, age, teamA);
+            em.persist(member);
+            oldestMember = member;
+        }
+        em.flush();
+    }
+
+    @Test
+    public void rebuildFromDatabase() throws Exception{
+        TeamTopMembersDto top = teamTopMembers.top(teamA.getId(), 2);
+
+        assertThat(top.getOldest()).extracting("age").containsExactly(50, 40);
+        assertThat(top.getYoungest()).extracting("age").containsExactly(10, 20);
+    }
+
+    @Test
+    public void applyChangeEvents() throws Exception{
+        teamTopMembers.top(teamA.getId(), 3);
+        Long a = teamA.getId();
+
+        //60살 추가 -> 1등
+        MemberState created = new MemberState(999L, "member60", 60, a, "teamA");
+        teamTopMembers.onMemberChange(MemberChangeEvent.created(created));
+        assertThat(teamTopMembers.top(a, 3).getOldest()).extracting("age").containsExactly(60, 50, 40);
+
+        //이름만 바뀌면 순위 그대로
+        MemberState renamed = new MemberState(999L, "renamed", 60, a, "teamA");
+        teamTopMembers.onMemberChange(MemberChangeEvent.updated(created, renamed));
+        assertThat(teamTopMembers.top(a, 1).getOldest()).extracting("username").containsExactly("renamed");
+
+        //꽉 찬 상위권에서 DB 에 있는 50살이 빠짐 -> 다음 조회 때 DB 에서 다시 (DB 엔 60살이 없으니 50,40,30)
+        teamTopMembers.onMemberChange(MemberChangeEvent.deleted(
+                new MemberState(oldestMember.getId(), "member50", 50, a, "teamA")));
+        assertThat(teamTopMembers.top(a, 3).getOldest()).extracting("age").containsExactly(50, 40, 30);
+    }
+}
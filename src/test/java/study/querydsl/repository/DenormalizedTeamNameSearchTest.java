@@ -0,0 +1,99 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 비정규화 모드에서는 어느 레포지토리든 team 이 아니라 member.team_name 을 봐야 한다.
+ * team.name 과 team_name 을 일부러 다르게 만들어두고 team_name 쪽 값으로만 찾히는지 본다
+ */
+@SpringBootTest(properties = {"querydsl.denormalized-team-name=true", "querydsl.window-count=true"})
+@Transactional
+class DenormalizedTeamNameSearchTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Autowired
+    MemberSqlRepository memberSqlRepository;
+
+    MemberSearchCondition byDenormalizedName;
+    MemberSearchCondition byTeamName;
+
+    @BeforeEach
+    public void before(){
+        Team team = new Team("denormTeam");
+        em.persist(team);
+        em.persist(new Member("member1", 10, team));
+        em.persist(new Member("member2", 20, team));
+        em.flush();
+
+        // rename 을 안 거치고 member.team_name 만 바꿈
+        em.createNativeQuery("update member set team_name = 'denormTeamOld' where team_id = :teamId")
+                .setParameter("teamId", team.getId())
+                .executeUpdate();
+        em.clear();
+
+        byDenormalizedName = new MemberSearchCondition();
+        byDenormalizedName.setTeamName("denormTeamOld");
+        byTeamName = new MemberSearchCondition();
+        byTeamName.setTeamName("denormTeam");
+    }
+
+    @Test
+    public void customRepository() throws Exception{
+        assertThat(memberRepository.search(byDenormalizedName)).extracting("teamName")
+                .containsOnly("denormTeamOld").hasSize(2);
+        assertThat(memberRepository.search(byTeamName)).isEmpty();
+    }
+
+    @Test
+    public void sqlRepository() throws Exception{
+        assertThat(memberSqlRepository.searchPageWithWindowCount(byDenormalizedName,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "teamName"))).getContent())
+                .extracting("username", "teamName")
+                .containsExactly(tuple("member2", "denormTeamOld"), tuple("member1", "denormTeamOld"));
+        assertThat(memberSqlRepository.searchPageWithWindowCount(byTeamName, PageRequest.of(0, 10))
+                .getTotalElements()).isZero();
+        // 범위 밖 페이지라 count 쿼리로 건수를 구하는 경우
+        assertThat(memberSqlRepository.searchPageWithWindowCount(byDenormalizedName, PageRequest.of(5, 10))
+                .getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    public void jpaRepository() throws Exception{
+        assertThat(memberJpaRepository.search(byDenormalizedName)).extracting("teamName")
+                .containsOnly("denormTeamOld").hasSize(2);
+        assertThat(memberJpaRepository.searchByBuilder(byDenormalizedName)).hasSize(2);
+        assertThat(memberJpaRepository.search(byTeamName)).isEmpty();
+        assertThat(memberJpaRepository.searchByBuilder(byTeamName)).isEmpty();
+    }
+
+    @Test
+    public void queryRepository() throws Exception{
+        assertThat(memberQueryRepository.search(byDenormalizedName)).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2");
+        assertThat(memberQueryRepository.search(byTeamName)).isEmpty();
+    }
+}
@@ -0,0 +1,103 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * DenormalizedTeamNameSearchTest 의 반대. 기본 설정(둘 다 false)에서는 team 을 조인해서 team.name 을 봐야 하고
+ * 아직 백필 안 된 member.team_name 값은 검색에 영향이 없어야 한다
+ */
+@SpringBootTest(properties = {"querydsl.denormalized-team-name=false", "querydsl.window-count=false"})
+@Transactional
+class JoinTeamNameSearchTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Autowired
+    MemberSqlRepository memberSqlRepository;
+
+    MemberSearchCondition byDenormalizedName;
+    MemberSearchCondition byTeamName;
+
+    @BeforeEach
+    public void before(){
+        Team team = new Team("joinTeam");
+        em.persist(team);
+        em.persist(new Member("member1", 10, team));
+        em.persist(new Member("member2", 20, team));
+        em.flush();
+
+        // 백필이 덜 된 상태처럼 member.team_name 만 다른 값
+        em.createNativeQuery("update member set team_name = 'joinTeamOld' where team_id = :teamId")
+                .setParameter("teamId", team.getId())
+                .executeUpdate();
+        em.clear();
+
+        byDenormalizedName = new MemberSearchCondition();
+        byDenormalizedName.setTeamName("joinTeamOld");
+        byTeamName = new MemberSearchCondition();
+        byTeamName.setTeamName("joinTeam");
+    }
+
+    @Test
+    public void customRepository() throws Exception{
+        assertThat(memberRepository.search(byTeamName)).extracting("teamName")
+                .containsOnly("joinTeam").hasSize(2);
+        assertThat(memberRepository.search(byDenormalizedName)).isEmpty();
+    }
+
+    @Test
+    public void pageWithoutWindowCount() throws Exception{
+        Page<MemberTeamDto> result = memberRepository.searchPageSimple(byTeamName, PageRequest.of(0, 1));
+        assertThat(result.getContent()).extracting("teamName").containsExactly("joinTeam");
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(memberRepository.searchPageSimple(byDenormalizedName, PageRequest.of(0, 1)).getTotalElements()).isZero();
+    }
+
+    @Test
+    public void sqlRepository() throws Exception{
+        assertThat(memberSqlRepository.searchPageWithWindowCount(byTeamName, PageRequest.of(0, 10)).getContent())
+                .extracting("teamName").containsOnly("joinTeam").hasSize(2);
+        assertThat(memberSqlRepository.searchPageWithWindowCount(byDenormalizedName, PageRequest.of(0, 10))
+                .getTotalElements()).isZero();
+    }
+
+    @Test
+    public void jpaRepository() throws Exception{
+        assertThat(memberJpaRepository.search(byTeamName)).extracting("teamName")
+                .containsOnly("joinTeam").hasSize(2);
+        assertThat(memberJpaRepository.searchByBuilder(byTeamName)).hasSize(2);
+        assertThat(memberJpaRepository.search(byDenormalizedName)).isEmpty();
+        assertThat(memberJpaRepository.searchByBuilder(byDenormalizedName)).isEmpty();
+    }
+
+    @Test
+    public void queryRepository() throws Exception{
+        assertThat(memberQueryRepository.search(byTeamName)).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2");
+        assertThat(memberQueryRepository.search(byDenormalizedName)).isEmpty();
+    }
+}
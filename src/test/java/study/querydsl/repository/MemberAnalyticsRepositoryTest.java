@@ -0,0 +1,75 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberAnalyticsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class MemberAnalyticsRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberAnalyticsRepository memberAnalyticsRepository;
+
+    Team teamB;
+
+    @BeforeEach
+    public void before(){
+        Team teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50, teamB));
+        em.persist(new Member("noTeam", 60));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void memberAnalyticsWindow() throws Exception{
+        List<MemberAnalyticsDto> result = memberAnalyticsRepository.findMemberAnalyticsWindow(null);
+
+        assertThat(result).extracting("username")
+                .containsExactly("member2", "member1", "member5", "member4", "member3");
+        assertThat(result).extracting("teamAvgAge").containsExactly(15.0, 15.0, 40.0, 40.0, 40.0);
+        assertThat(result).extracting("ageRankInTeam").containsExactly(1L, 2L, 1L, 2L, 3L);
+
+        assertThat(memberAnalyticsRepository.findMemberAnalyticsWindow(teamB.getId()))
+                .extracting("username").containsExactly("member5", "member4", "member3");
+    }
+
+    @Test
+    public void olderThanTeamAverageWindow() throws Exception{
+        List<MemberAnalyticsDto> result = memberAnalyticsRepository.findOlderThanTeamAverageWindow();
+
+        assertThat(result).extracting("username").containsExactly("member2", "member5");
+        assertThat(result).extracting("teamName").containsExactly("teamA", "teamB");
+    }
+
+    //window function 경로와 상관 서브쿼리 경로 결과가 같아야 한다
+    @Test
+    public void sameAsCorrelatedSubquery() throws Exception{
+        assertThat(memberAnalyticsRepository.findMemberAnalyticsWindow(null))
+                .isEqualTo(memberAnalyticsRepository.findMemberAnalyticsJpa(null));
+        assertThat(memberAnalyticsRepository.findOlderThanTeamAverageWindow())
+                .isEqualTo(memberAnalyticsRepository.findOlderThanTeamAverageJpa());
+    }
+}
@@ -0,0 +1,163 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * StatelessSession 은 자기 트랜잭션으로 커밋해서 @Transactional 롤백이 안 된다. 만든 행은 끝나고 지운다
+ */
+@SpringBootTest
+class MemberBatchRepositoryTest {
+
+    static final int ROWS = 10_000;
+
+    @Autowired
+    MemberBatchRepository memberBatchRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate transaction;
+    String prefix;
+    Long teamId;
+
+    @BeforeEach
+    public void before() {
+        transaction = new TransactionTemplate(transactionManager);
+        prefix = "batch-" + UUID.randomUUID() + "-";
+        teamId = transaction.execute(status -> {
+            Team teamA = new Team(prefix + "team");
+            em.persist(teamA);
+            return teamA.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transaction.executeWithoutResult(status -> {
+            queryFactory.delete(member)
+                    .where(member.username.startsWith(prefix).or(member.username.startsWith(prefix.toUpperCase())))
+                    .execute();
+            queryFactory.delete(team).where(team.id.eq(teamId)).execute();
+        });
+    }
+
+    @Test
+    public void insertScrollAndReprocess() throws Exception{
+        insert(1_234);
+
+        AtomicLong lastId = new AtomicLong();
+        long scanned = memberBatchRepository.scroll(member.username.startsWith(prefix), m -> {
+            // member_id 순, team 은 id 만
+            assertThat(m.getId()).isGreaterThan(lastId.get());
+            lastId.set(m.getId());
+            assertThat(m.getTeam().getId()).isEqualTo(teamId);
+            assertThat(m.getTeamName()).isEqualTo(prefix + "team");
+        });
+        assertThat(scanned).isEqualTo(1_234);
+
+        // 짝수 나이만 바뀐다 -> 바뀐 것만 update
+        long updated = memberBatchRepository.reprocess(member.username.startsWith(prefix), m -> {
+            if (m.getAge() % 2 == 0) {
+                m.setAge(m.getAge() + 1);
+                m.setUsername(m.getUsername().toUpperCase());
+            }
+        });
+        assertThat(updated).isEqualTo(617);
+
+        em.clear();
+        List<Member> members = queryFactory
+                .selectFrom(member)
+                .where(member.username.startsWith(prefix).or(member.username.startsWith(prefix.toUpperCase())))
+                .fetch();
+        assertThat(members).hasSize(1_234);
+        assertThat(members).extracting(Member::getAge).allMatch(age -> age % 2 == 1);
+        // 콜백 대신 직접 맞춘 값
+        assertThat(members).allMatch(m -> m.getUsernameNormalized().equals(Member.normalizeUsername(m.getUsername())));
+    }
+
+    /**
+     * 같은 재처리(전체 읽고 10% 수정)를 영속성 컨텍스트로 한 번, StatelessSession 으로 한 번. 수치는 로그로만
+     */
+    @Test
+    public void compareWithPersistenceContext() throws Exception{
+        insert(ROWS);
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        long[] jpaPeak = new long[1];
+        transaction.executeWithoutResult(status -> {
+            List<Member> members = queryFactory.selectFrom(member).where(member.username.startsWith(prefix)).fetch();
+            for (Member m : members) {
+                if (m.getAge() % 10 == 0) {
+                    m.setAge(m.getAge() + 1);
+                }
+            }
+            jpaPeak[0] = usedHeap() - heapBefore;
+        });
+        long jpaNanos = System.nanoTime() - start;
+
+        heapBefore = usedHeap();
+        long[] statelessPeak = new long[1];
+        AtomicLong seen = new AtomicLong();
+        start = System.nanoTime();
+        long updated = memberBatchRepository.reprocess(member.username.startsWith(prefix), m -> {
+            if (m.getAge() % 10 == 5) {
+                m.setAge(m.getAge() + 1);
+            }
+            if (seen.incrementAndGet() == ROWS) {
+                statelessPeak[0] = usedHeap() - heapBefore;
+            }
+        });
+        long statelessNanos = System.nanoTime() - start;
+
+        assertThat(updated).isEqualTo(ROWS / 10);
+        System.out.printf("persistence context : %,d rows/s, 처리 끝 힙 +%,d KB%n",
+                ROWS * 1_000_000_000L / jpaNanos, jpaPeak[0] / 1024);
+        System.out.printf("stateless session   : %,d rows/s, 처리 끝 힙 +%,d KB%n",
+                ROWS * 1_000_000_000L / statelessNanos, statelessPeak[0] / 1024);
+    }
+
+    // 나이 = i % 100
+    private void insert(int rows) {
+        // insert 에는 team id 만 쓰인다
+        Team teamRef = new Team(prefix + "team");
+        teamRef.setId(teamId);
+        List<Member> members = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member(prefix + i, i % 100, teamRef));
+        }
+        memberBatchRepository.insertAll(members);
+    }
+
+    // 대략적인 값. GC 를 부탁하고 잰다
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
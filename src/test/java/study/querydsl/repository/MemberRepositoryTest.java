@@ -8,12 +8,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.MutableMemberTeamRow;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,6 +37,9 @@ public class MemberRepositoryTest {
     @Autowired
     EntityManager em;
 
+    @Autowired
+    EntityManagerFactory emf;
+
     @Autowired
     MemberRepository memberRepository;
 
@@ -104,4 +111,87 @@ public class MemberRepositoryTest {
         assertThat(result.getSize()).isEqualTo(3);
         assertThat(result.getContent()).extracting("username").containsExactly("member1","member2","member3");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void searchForEach() throws Exception{
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+
+        List<MemberTeamDto> result = new ArrayList<>();
+        memberRepository.searchForEach(condition, row -> result.add(((MutableMemberTeamRow) row).toDto()));
+
+        assertThat(result).extracting("username").containsExactlyInAnyOrder("member3", "member4");
+        assertThat(result).extracting("teamName").containsOnly("teamB");
+    }
+
+    @Test
+    public void searchStream() throws Exception{
+        Team streamTeam = new Team("streamTeam");
+        em.persist(streamTeam);
+        for (int i = 0; i < 100; i++) {
+            em.persist(new Member("member" + i, i, streamTeam));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("streamTeam");
+        condition.setAgeGoe(90);
+
+        // searchStream 은 orderBy 가 없어서 순서는 DB 마음
+        try (Stream<MemberTeamDto> stream = memberRepository.searchStream(condition)) {
+            assertThat(stream.map(MemberTeamDto::getAge)).containsExactlyInAnyOrder(90, 91, 92, 93, 94, 95, 96, 97, 98, 99);
+        }
+    }
+
+    @Test
+    public void searchIgnoreCase() throws Exception{
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("Member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("other", 30, teamA));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition ignoreCase = new MemberSearchCondition();
+        ignoreCase.setUsername("MEMBER1");
+        ignoreCase.setUsernameIgnoreCase(true);
+        assertThat(memberRepository.search(ignoreCase)).extracting("username").containsExactly("Member1");
+
+        MemberSearchCondition prefix = new MemberSearchCondition();
+        prefix.setUsernamePrefix("mem");
+        assertThat(memberRepository.search(prefix)).extracting("username")
+                .containsExactlyInAnyOrder("Member1", "member2");
+    }
+
+    @Test
+    public void searchMemberPage() throws Exception{
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+        Page<Member> page = memberRepository.searchMemberPage(condition, PageRequest.of(0, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting("username").containsExactly("member2", "member3");
+        assertThat(emf.getPersistenceUnitUtil().isLoaded(page.getContent().get(0).getTeam())).isTrue();
+    }
+}
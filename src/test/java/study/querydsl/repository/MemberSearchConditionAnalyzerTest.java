@@ -0,0 +1,69 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberSearchConditionAnalyzer.Analysis;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemberSearchConditionAnalyzerTest {
+
+    @Test
+    public void contradiction() throws Exception{
+        assertThat(MemberSearchConditionAnalyzer.analyze(condition(null, null, 40, 30)).isAlwaysEmpty()).isTrue();
+        assertThat(MemberSearchConditionAnalyzer.analyze(condition(null, null, null, -1)).isAlwaysEmpty()).isTrue();
+        assertThat(MemberSearchConditionAnalyzer.analyze(condition(null, null, 30, 30)).isAlwaysEmpty()).isFalse();
+    }
+
+    @Test
+    public void normalize() throws Exception{
+        Analysis analysis = MemberSearchConditionAnalyzer.analyze(condition(" ", "teamA", -5, 30));
+
+        MemberSearchCondition normalized = analysis.getCondition();
+        assertThat(normalized.getUsername()).isNull();
+        assertThat(normalized.getTeamName()).isEqualTo("teamA");
+        assertThat(normalized.getAgeGoe()).isNull();
+        assertThat(normalized.getAgeLoe()).isEqualTo(30);
+    }
+
+    @Test
+    public void cacheKey() throws Exception{
+        String key1 = MemberSearchConditionAnalyzer.analyze(condition("", "teamA", 0, 30)).getCacheKey();
+        String key2 = MemberSearchConditionAnalyzer.analyze(condition(null, "teamA", null, 30)).getCacheKey();
+        String key3 = MemberSearchConditionAnalyzer.analyze(condition("teamA", null, null, 30)).getCacheKey();
+
+        assertThat(key1).isEqualTo(key2);
+        assertThat(key1).isNotEqualTo(key3);
+        assertThat(MemberSearchConditionAnalyzer.analyze(condition(null, null, 40, 30)).getCacheKey())
+                .isEqualTo(MemberSearchConditionAnalyzer.analyze(condition("a", null, null, -3)).getCacheKey());
+    }
+
+    private MemberSearchCondition condition(String username, String teamName, Integer ageGoe, Integer ageLoe) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(username);
+        condition.setTeamName(teamName);
+        condition.setAgeGoe(ageGoe);
+        condition.setAgeLoe(ageLoe);
+        return condition;
+    }
+
+    @Test
+    public void usernameIgnoreCaseAndPrefix() throws Exception{
+        MemberSearchCondition upper = condition(" MEMBER1", null, null, null);
+        upper.setUsernameIgnoreCase(true);
+        MemberSearchCondition lower = condition("member1", null, null, null);
+        lower.setUsernameIgnoreCase(true);
+        assertThat(MemberSearchConditionAnalyzer.analyze(upper).getCacheKey())
+                .isEqualTo(MemberSearchConditionAnalyzer.analyze(lower).getCacheKey());
+
+        //username 이 prefix 로 시작 안 하면 결과 없음
+        MemberSearchCondition mismatch = condition("member1", null, null, null);
+        mismatch.setUsernamePrefix("team");
+        assertThat(MemberSearchConditionAnalyzer.analyze(mismatch).isAlwaysEmpty()).isTrue();
+
+        //시작하면 prefix 조건은 빠짐
+        MemberSearchCondition redundant = condition("member1", null, null, null);
+        redundant.setUsernamePrefix("MEM");
+        assertThat(MemberSearchConditionAnalyzer.analyze(redundant).getCondition().getUsernamePrefix()).isNull();
+    }
+}
@@ -0,0 +1,74 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+class MemberSearchPredicatesTest {
+
+    @Test
+    public void sameShapeSameJpql() throws Exception{
+        MemberSearchCondition condition1 = new MemberSearchCondition();
+        condition1.setTeamName("teamA");
+        condition1.setAgeGoe(10);
+
+        MemberSearchCondition condition2 = new MemberSearchCondition();
+        condition2.setAgeGoe(35);
+        condition2.setTeamName("teamB");
+
+        JPAQuery<Member> query1 = MemberSearchPredicates.where(baseQuery(), condition1);
+        JPAQuery<Member> query2 = MemberSearchPredicates.where(baseQuery(), condition2);
+
+        assertThat(query1.toString()).isEqualTo(query2.toString());
+        assertThat(query1.toString()).contains("team.name = ?1 and member1.age >= ?2");
+    }
+
+    @Test
+    public void emptyCondition() throws Exception{
+        JPAQuery<Member> query = MemberSearchPredicates.where(baseQuery(), new MemberSearchCondition());
+
+        assertThat(query.toString()).doesNotContain("where");
+    }
+
+    private JPAQuery<Member> baseQuery() {
+        return new JPAQuery<Void>()
+                .select(member)
+                .from(member)
+                .leftJoin(member.team, team);
+    }
+
+    @Test
+    public void sameAgeBoundsBecomeEquality() throws Exception{
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(20);
+
+        JPAQuery<Member> query = MemberSearchPredicates.where(baseQuery(), condition);
+
+        assertThat(query.toString()).contains("member1.age = ?1");
+    }
+
+    @Test
+    public void ignoreCaseUsesNormalizedColumn() throws Exception{
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("Member1");
+        condition.setUsernameIgnoreCase(true);
+        condition.setUsernamePrefix("MEM");
+
+        JPAQuery<Member> query = MemberSearchPredicates.where(baseQuery(), condition);
+
+        assertThat(query.toString()).contains("member1.usernameNormalized = ?1");
+        assertThat(query.toString()).contains("member1.usernameNormalized like ?2 escape '!'");
+        assertThat(query.toString()).doesNotContain("lower(");
+    }
+
+    @Test
+    public void prefixPatternEscapesWildcards() throws Exception{
+        assertThat(MemberSearchPredicates.prefixPattern(" Ab_c% ")).isEqualTo("ab!_c!%%");
+    }
+}
@@ -0,0 +1,162 @@
+package study.querydsl.repository;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import com.querydsl.core.types.OrderSpecifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.InvalidSortException;
+
+import javax.persistence.EntityManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "querydsl.denormalized-team-name=false")
+@Transactional
+class MemberSortTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    SqlCapture sqlCapture;
+
+    // p6spy 가 JdbcEventListener 빈을 등록해준다. 실제로 나간 SQL(값 바인딩된 상태)을 모은다
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+    }
+
+    static class SqlCapture extends SimpleJdbcEventListener {
+        final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+            statements.add(statementInformation.getSqlWithValues());
+        }
+    }
+
+    @Test
+    public void appendIdTiebreaker() throws Exception{
+        OrderSpecifier<?>[] orders = MemberSort.jpa(Sort.by(Sort.Direction.DESC, "age"));
+
+        assertThat(orders).extracting(OrderSpecifier::toString)
+                .containsExactly("member1.age DESC", "member1.id DESC");
+        assertThat(MemberSort.jpa(Sort.unsorted())).extracting(OrderSpecifier::toString)
+                .containsExactly("member1.id ASC");
+    }
+
+    @Test
+    public void comparatorMatchesOrderSpecifiers() throws Exception{
+        MemberTeamDto a = new MemberTeamDto(1L, "a", 20, null, null);
+        MemberTeamDto b = new MemberTeamDto(2L, "b", 30, null, null);
+        MemberTeamDto c = new MemberTeamDto(3L, "c", 30, null, null);
+        MemberTeamDto noName = new MemberTeamDto(4L, null, 10, null, null);
+
+        List<MemberTeamDto> rows = new ArrayList<>(List.of(a, noName, c, b));
+        rows.sort(MemberSort.comparator(Sort.by(Sort.Direction.DESC, "age")));
+        // age desc, 같으면 id desc
+        assertThat(rows).containsExactly(c, b, a, noName);
+
+        rows.sort(MemberSort.comparator(Sort.by("username")));
+        assertThat(rows).containsExactly(noName, a, b, c);
+    }
+
+    @Test
+    public void rejectUnknownKey() throws Exception{
+        assertThatThrownBy(() -> MemberSort.jpa(Sort.by("team.id")))
+                .isInstanceOf(InvalidSortException.class);
+    }
+
+    @Test
+    public void searchPageSimpleSorted() throws Exception{
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 40, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        em.persist(new Member("member4", 40, teamA));
+
+        Page<MemberTeamDto> result = memberRepository.searchPageSimple(new MemberSearchCondition(),
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age")));
+
+        assertThat(result.getContent()).extracting("username").containsExactly("member4", "member2", "member3");
+    }
+
+    @Test
+    public void rejectSortWithoutIndex() throws Exception{
+        assertThatThrownBy(() -> MemberSort.jpa(Sort.by("age", "username")))
+                .isInstanceOf(InvalidSortException.class);
+        assertThatThrownBy(() -> MemberSort.sql(Sort.by("teamName", "age")))
+                .isInstanceOf(InvalidSortException.class);
+        // id 는 뒤에 붙어도 인덱스 (키, member_id) 그대로
+        assertThat(MemberSort.jpa(Sort.by("age", "memberId"))).extracting(OrderSpecifier::toString)
+                .containsExactly("member1.age ASC", "member1.id ASC");
+    }
+
+    @Test
+    public void rejectTeamNameSortWithJoin() throws Exception{
+        // team 조인 쿼리에는 (team.name, member_id) 인덱스가 없다
+        assertThatThrownBy(() -> MemberSort.jpa(Sort.by("teamName")))
+                .isInstanceOf(InvalidSortException.class);
+        assertThatThrownBy(() -> MemberSort.sql(Sort.by("teamName")))
+                .isInstanceOf(InvalidSortException.class);
+        assertThatThrownBy(() -> memberRepository.searchPageSimple(new MemberSearchCondition(),
+                PageRequest.of(0, 10, Sort.by("teamName"))))
+                .isInstanceOf(InvalidSortException.class);
+        // 비정규화 모드는 idx_member_team_name
+        assertThat(MemberSort.singleTable(Sort.by("teamName"))).extracting(OrderSpecifier::toString)
+                .containsExactly("member1.teamName ASC", "member1.id ASC");
+    }
+
+    @Test
+    public void explainAgeSortUsesIndex() throws Exception{
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(40);
+
+        String plan = explainSearchPage(condition, Sort.by("age"));
+
+        assertThat(plan.toUpperCase()).contains("IDX_MEMBER_AGE");
+    }
+
+    @Test
+    public void explainUsernameSortUsesIndex() throws Exception{
+        String plan = explainSearchPage(new MemberSearchCondition(), Sort.by(Sort.Direction.DESC, "username"));
+
+        assertThat(plan.toUpperCase()).contains("IDX_MEMBER_USERNAME");
+    }
+
+    // searchPageSimple 이 실제로 보낸 컨텐츠 쿼리(team 조인, where, DTO projection, limit 포함)에 explain
+    private String explainSearchPage(MemberSearchCondition condition, Sort sort) {
+        sqlCapture.statements.clear();
+        memberRepository.searchPageSimple(condition, PageRequest.of(0, 10, sort));
+        String sql = sqlCapture.statements.stream()
+                .filter(statement -> statement.toLowerCase().contains("order by"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(sql.toLowerCase()).contains("left outer join team");
+        return String.valueOf(em.createNativeQuery("explain " + sql).getSingleResult());
+    }
+}
@@ -0,0 +1,171 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.support.MemberShardSchema;
+import study.querydsl.repository.support.MemberShards;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 샤드 = 로컬 H2 인메모리 DB 하나씩
+ */
+class ShardedMemberRepositoryTest {
+
+    MemberShards shards;
+
+    @AfterEach
+    public void after() {
+        if (shards != null) {
+            shards.close();
+        }
+    }
+
+    @Test
+    public void routeByTeamId() throws Exception{
+        ShardedMemberRepository repository = repository(3);
+        List<Long> teamIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            teamIds.add(repository.saveTeam("team" + i));
+        }
+
+        Set<Long> memberIds = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            memberIds.add(repository.saveMember("member" + i, i, teamIds.get(i % 6)));
+        }
+        memberIds.add(repository.saveMember("noTeam", 99, null));
+
+        // 샤드마다 시퀀스가 달라도 id 는 안 겹친다
+        assertThat(memberIds).hasSize(31);
+        for (Long teamId : teamIds) {
+            MemberShards.Shard shard = shards.route(teamId);
+            assertThat(count(shard, "select count(*) from team where id = " + teamId)).isEqualTo(1);
+            assertThat(count(shard, "select count(*) from member where team_id = " + teamId)).isEqualTo(5);
+        }
+        assertThat(count(shards.shard(0), "select count(*) from member where team_id is null")).isEqualTo(1);
+        // 팀이 샤드에 골고루
+        assertThat(teamIds.stream().map(id -> shards.route(id).getIndex()).collect(Collectors.toSet()))
+                .containsExactlyInAnyOrder(0, 1, 2);
+        assertThatThrownBy(() -> repository.saveMember("ghost", 1, -1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void searchAcrossShards() throws Exception{
+        for (int shardCount = 1; shardCount <= 4; shardCount++) {
+            ShardedMemberRepository repository = repository(shardCount);
+            load(repository);
+
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setAgeGoe(35);
+            condition.setAgeLoe(40);
+            List<MemberTeamDto> result = repository.search(condition);
+
+            assertThat(result).extracting("age").containsOnly(35, 36, 37, 38, 39, 40);
+            assertThat(result).hasSize(6);
+            assertThat(result).extracting(MemberTeamDto::getMemberId).isSorted();
+
+            condition = new MemberSearchCondition();
+            condition.setTeamName("team3");
+            assertThat(repository.search(condition)).hasSize(10).extracting("teamName").containsOnly("team3");
+
+            shards.close();
+            shards = null;
+        }
+    }
+
+    @Test
+    public void pageMatchesSingleShard() throws Exception{
+        ShardedMemberRepository single = repository(1);
+        load(single);
+        MemberShards singleShard = shards;
+        ShardedMemberRepository sharded = repository(4);
+        load(sharded);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+        for (Sort sort : List.of(Sort.by("username"), Sort.by(Sort.Direction.DESC, "username"))) {
+            for (int page = 0; page < 5; page++) {
+                Page<MemberTeamDto> expected = single.searchPageSimple(condition, PageRequest.of(page, 7, sort));
+                Page<MemberTeamDto> actual = sharded.searchPageSimple(condition, PageRequest.of(page, 7, sort));
+
+                // id 는 샤드 구성마다 달라서 username 으로 비교
+                assertThat(actual.getContent()).extracting(MemberTeamDto::getUsername)
+                        .containsExactlyElementsOf(expected.getContent().stream()
+                                .map(MemberTeamDto::getUsername).collect(Collectors.toList()));
+                assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements()).isEqualTo(90);
+            }
+        }
+        singleShard.close();
+    }
+
+    @Test
+    public void pageOrderedByAgeDesc() throws Exception{
+        ShardedMemberRepository repository = repository(3);
+        load(repository);
+
+        Page<MemberTeamDto> page = repository.searchPageSimple(new MemberSearchCondition(),
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "age")));
+
+        List<MemberTeamDto> all = repository.search(new MemberSearchCondition());
+        all.sort(MemberSort.comparator(Sort.by(Sort.Direction.DESC, "age")));
+        assertThat(page.getContent()).containsExactlyElementsOf(all.subList(10, 20));
+        assertThat(page.getTotalElements()).isEqualTo(100);
+    }
+
+    @Test
+    public void merge() throws Exception{
+        MemberTeamDto a = new MemberTeamDto(1L, "a", 10, null, null);
+        MemberTeamDto b = new MemberTeamDto(2L, "b", 20, null, null);
+        MemberTeamDto c = new MemberTeamDto(3L, "c", 30, null, null);
+        MemberTeamDto d = new MemberTeamDto(4L, "d", 40, null, null);
+
+        List<MemberTeamDto> merged = ShardedMemberRepository.merge(
+                List.of(List.of(a, d), List.of(), List.of(b, c)), MemberSort.comparator(Sort.unsorted()), 1, 2);
+
+        assertThat(merged).containsExactly(b, c);
+    }
+
+    // 팀 10개, 회원 100명 (나이 0~99, 팀 = 나이 % 10)
+    private void load(ShardedMemberRepository repository) {
+        List<Long> teamIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            teamIds.add(repository.saveTeam("team" + i));
+        }
+        for (int i = 0; i < 100; i++) {
+            repository.saveMember(String.format("member%03d", i), i, teamIds.get(i % 10));
+        }
+    }
+
+    private ShardedMemberRepository repository(int shardCount) throws Exception {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            dataSources.add(new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        shards = MemberShards.of(dataSources, shardCount);
+        for (MemberShards.Shard shard : shards.all()) {
+            MemberShardSchema.create(shard, shardCount);
+        }
+        return new ShardedMemberRepository(shards);
+    }
+
+    private long count(MemberShards.Shard shard, String sql) {
+        return new JdbcTemplate(shard.getDataSource()).queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,79 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.InvalidSortException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TeamQueryRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    TeamQueryRepository teamQueryRepository;
+
+    @Test
+    public void findTeamsWithMembers() throws Exception{
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            for (int j = 0; j < 3; j++) {
+                em.persist(new Member("member" + i + "_" + j, j, team));
+            }
+        }
+        em.flush();
+        em.clear();
+
+        Page<Team> page = teamQueryRepository.findTeamsWithMembers(null, PageRequest.of(1, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting("name").containsExactly("team2", "team3");
+        //members 까지 fetch join 으로 같이 올라왔는지
+        assertThat(emf.getPersistenceUnitUtil().isLoaded(page.getContent().get(0), "members")).isTrue();
+        assertThat(page.getContent().get(0).getMembers()).hasSize(3);
+    }
+
+    @Test
+    public void findTeamsWithMembersSorted() throws Exception{
+        for (String name : new String[]{"sortB", "sortA", "sortC", "sortA"}) {
+            Team team = new Team(name);
+            em.persist(team);
+            em.persist(new Member(name + "_member", 10, team));
+        }
+        em.flush();
+        em.clear();
+
+        Page<Team> page = teamQueryRepository.findTeamsWithMembers(null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name")));
+
+        List<Team> sortTeams = page.getContent().stream()
+                .filter(t -> t.getName().startsWith("sort"))
+                .collect(Collectors.toList());
+        assertThat(sortTeams).extracting("name").containsExactly("sortC", "sortB", "sortA", "sortA");
+        //같은 이름이면 id 로 (정렬 방향은 마지막 키를 따라간다)
+        assertThat(sortTeams.get(2).getId()).isGreaterThan(sortTeams.get(3).getId());
+
+        assertThatThrownBy(() -> teamQueryRepository.findTeamsWithMembers(null,
+                PageRequest.of(0, 10, Sort.by("members"))))
+                .isInstanceOf(InvalidSortException.class);
+    }
+}
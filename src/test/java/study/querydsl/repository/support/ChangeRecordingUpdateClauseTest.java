@@ -0,0 +1,66 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class ChangeRecordingUpdateClauseTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    Team teamA;
+
+    @BeforeEach
+    public void before(){
+        teamA = new Team("clauseTeam");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void bulkUsernameUpdateKeepsNormalizedColumn() throws Exception{
+        long updated = queryFactory
+                .update(member)
+                .set(member.username, "  Guest ")
+                .where(member.team.id.eq(teamA.getId()), member.age.lt(15))
+                .execute();
+        em.clear();
+
+        assertThat(updated).isEqualTo(1);
+        List<Member> members = queryFactory.selectFrom(member).where(member.team.id.eq(teamA.getId())).fetch();
+        assertThat(members).allMatch(m -> m.getUsernameNormalized().equals(Member.normalizeUsername(m.getUsername())));
+        assertThat(members).extracting(Member::getUsernameNormalized).containsExactlyInAnyOrder("guest", "member2");
+    }
+
+    @Test
+    public void rejectUsernameExpression() throws Exception{
+        assertThatThrownBy(() -> queryFactory
+                .update(member)
+                .set(member.username, member.username.concat("_x")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> queryFactory
+                .update(member)
+                .set(member.usernameNormalized, "guest"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
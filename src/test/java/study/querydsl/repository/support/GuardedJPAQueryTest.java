@@ -0,0 +1,90 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.configuration.QuerydslProperties;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.ChangeFeed;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class GuardedJPAQueryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    ChangeFeed changeFeed;
+
+    QuerydslProperties properties = new QuerydslProperties();
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before(){
+        properties.getGuard().setMaxRows(2);
+        queryFactory = new ConfiguredJPAQueryFactory(em, properties, changeFeed);
+
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+    }
+
+    @Test
+    public void abortCartesianProduct() throws Exception{
+        properties.getGuard().setAction(QueryGuardAction.ABORT);
+
+        assertThatThrownBy(() -> queryFactory.select(member).from(member, team).fetch())
+                .isInstanceOf(QueryGuardException.class);
+        assertThatThrownBy(() -> queryFactory.select(member).from(member).join(team).fetch())
+                .isInstanceOf(QueryGuardException.class);
+
+        //theta join 이라도 where 에서 두 루트를 엮으면 통과
+        assertThat(queryFactory.select(member).from(member, team).where(member.username.eq(team.name)).fetch())
+                .isEmpty();
+    }
+
+    @Test
+    public void abortUnboundedFetch() throws Exception{
+        properties.getGuard().setAction(QueryGuardAction.ABORT);
+
+        assertThatThrownBy(() -> queryFactory.selectFrom(member).fetch())
+                .isInstanceOf(QueryGuardException.class);
+        //where 가 있어도 max-rows 를 넘으면 막힘
+        assertThatThrownBy(() -> queryFactory.selectFrom(member).where(member.age.goe(10)).fetch())
+                .isInstanceOf(QueryGuardException.class);
+
+        assertThat(queryFactory.select(member.count()).from(member).fetchOne()).isEqualTo(3);
+        assertThat(queryFactory.selectFrom(member).where(member.age.goe(20)).fetch()).hasSize(2);
+    }
+
+    @Test
+    public void capRows() throws Exception{
+        properties.getGuard().setAction(QueryGuardAction.CAP);
+
+        assertThat(queryFactory.selectFrom(member).fetch()).hasSize(2);
+        assertThat(queryFactory.selectFrom(member).orderBy(member.age.desc()).fetch())
+                .extracting("username").containsExactly("member3", "member2");
+        //max-rows 에 딱 맞으면 그대로
+        assertThat(queryFactory.selectFrom(member).where(member.age.goe(20)).fetch()).hasSize(2);
+        assertThat(queryFactory.selectFrom(member).orderBy(member.age.desc()).limit(1).fetch())
+                .extracting("username").containsExactly("member3");
+    }
+
+    @Test
+    public void logOnly() throws Exception{
+        assertThat(queryFactory.selectFrom(member).fetch()).hasSize(3);
+    }
+}
@@ -0,0 +1,61 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.hibernate.Session;
+import org.springframework.dao.QueryTimeoutException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QueryDeadlineTest {
+
+    @AfterEach
+    public void after(){
+        QueryDeadline.clear();
+    }
+
+    @Test
+    public void noDeadline() throws Exception{
+        assertThat(QueryDeadline.timeoutSeconds()).isNull();
+    }
+
+    @Test
+    public void roundUpToSeconds() throws Exception{
+        QueryDeadline.start(1500);
+        assertThat(QueryDeadline.timeoutSeconds()).isEqualTo(2);
+
+        //1초 미만이어도 0(무제한)이 되면 안 됨
+        QueryDeadline.start(100);
+        assertThat(QueryDeadline.timeoutSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    public void expired() throws Exception{
+        QueryDeadline.start(0);
+        assertThatThrownBy(QueryDeadline::timeoutSeconds).isInstanceOf(QueryTimeoutException.class);
+    }
+
+    @Test
+    public void cancelRunningQuery() throws Exception{
+        Session session = mock(Session.class);
+        EntityManager em = mock(EntityManager.class);
+        when(em.unwrap(Session.class)).thenReturn(session);
+        QueryDeadline.Scope scope = QueryDeadline.start(5000);
+
+        QueryDeadline.applyTo(mock(Query.class), em);
+        //다른 스레드(컨테이너)에서 취소
+        Thread canceller = new Thread(() -> scope.cancel("client disconnected"));
+        canceller.start();
+        canceller.join();
+
+        verify(session).cancelQuery();
+        assertThat(scope.isCancelled()).isTrue();
+        //취소된 요청의 다음 쿼리는 보내지도 않는다
+        assertThatThrownBy(() -> QueryDeadline.applyTo(mock(Query.class), em))
+                .isInstanceOf(QueryTimeoutException.class);
+    }
+}
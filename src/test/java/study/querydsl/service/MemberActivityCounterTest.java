@@ -0,0 +1,170 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 로컬 H2 인메모리. 직접 update 와 쓰기 지연을 같은 부하로 비교한다 (수치는 로그로만)
+ */
+class MemberActivityCounterTest {
+
+    static final String CREATE_MEMBER = "create table member (member_id bigint not null, age integer not null, "
+            + "team_name varchar(255), username varchar(255), username_normalized varchar(255), team_id bigint, "
+            + "activity_count bigint default 0 not null, primary key (member_id))";
+
+    JdbcTemplate jdbcTemplate;
+    MemberActivityCounter counter;
+
+    @BeforeEach
+    public void before() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:activity-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(CREATE_MEMBER);
+        insertMembers();
+        counter = new MemberActivityCounter(dataSource, new DataSourceTransactionManager(dataSource), 2, 1000);
+    }
+
+    @Test
+    public void accumulateAndFlush() throws Exception{
+        run(8, 10_000, i -> counter.increment(1L + i % 3));
+
+        // flush 전에는 DB 그대로
+        assertThat(activity(1L)).isZero();
+        assertThat(counter.pending(1L) + counter.pending(2L) + counter.pending(3L)).isEqualTo(80_000);
+
+        // 회원 3명, batch-size 2 -> 배치 두 번
+        assertThat(counter.flush()).isEqualTo(3);
+        assertThat(activity(1L)).isEqualTo(8 * 3_334);
+        assertThat(activity(2L)).isEqualTo(8 * 3_333);
+        assertThat(activity(3L)).isEqualTo(8 * 3_333);
+        assertThat(counter.pending(1L)).isZero();
+
+        // 한 주기 동안 안 불린 카운터는 정리된다
+        assertThat(counter.flush()).isZero();
+        assertThat(counter.pendingMembers()).isZero();
+
+        counter.increment(2L, 5);
+        counter.increment(99L);
+        // 없는 회원 몫은 버린다
+        assertThat(counter.flush()).isEqualTo(1);
+        assertThat(activity(2L)).isEqualTo(8 * 3_333 + 5);
+        assertThat(counter.pending(99L)).isZero();
+    }
+
+    @Test
+    public void flushWhileIncrementing() throws Exception{
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (running.get()) {
+                counter.flush();
+            }
+        });
+        flusher.start();
+        // 드문드문 불리는 회원(4, 5)이 계속 정리됐다가 다시 생긴다
+        run(4, 50_000, i -> counter.increment(i % 100 == 0 ? 4L + i % 2 : 1L));
+        running.set(false);
+        flusher.join();
+        counter.flush();
+
+        assertThat(activity(1L) + activity(4L) + activity(5L)).isEqualTo(200_000);
+        assertThat(activity(4L) + activity(5L)).isEqualTo(2_000);
+    }
+
+    @Test
+    public void keepDeltaWhenFlushFails() throws Exception{
+        counter.increment(1L, 7);
+        jdbcTemplate.execute("drop table member");
+
+        assertThat(counter.flush()).isZero();
+        assertThat(counter.pending(1L)).isEqualTo(7);
+
+        jdbcTemplate.execute(CREATE_MEMBER);
+        insertMembers();
+        counter.flushOnShutdown();
+        assertThat(activity(1L)).isEqualTo(7);
+    }
+
+    @Test
+    public void compareWithDirectUpdate() throws Exception{
+        int threads = 8;
+        int perThread = 1_000;
+
+        // 모든 스레드가 같은 행 하나를 갱신. update 안에서 기다린 시간 ≒ 행 락 대기
+        AtomicLong directWaitNanos = new AtomicLong();
+        long directStart = System.nanoTime();
+        run(threads, perThread, i -> {
+            long start = System.nanoTime();
+            jdbcTemplate.update(MemberActivityCounter.INCREMENT_SQL, 1, 1L);
+            directWaitNanos.addAndGet(System.nanoTime() - start);
+        });
+        long directNanos = System.nanoTime() - directStart;
+
+        AtomicLong bufferedWaitNanos = new AtomicLong();
+        long bufferedStart = System.nanoTime();
+        run(threads, perThread, i -> {
+            long start = System.nanoTime();
+            counter.increment(2L);
+            bufferedWaitNanos.addAndGet(System.nanoTime() - start);
+        });
+        counter.flush();
+        long bufferedNanos = System.nanoTime() - bufferedStart;
+
+        assertThat(activity(1L)).isEqualTo(threads * perThread);
+        assertThat(activity(2L)).isEqualTo(threads * perThread);
+        long total = (long) threads * perThread;
+        System.out.printf("direct   : %,d/s, 호출당 평균 %,dns%n",
+                total * 1_000_000_000L / directNanos, directWaitNanos.get() / total);
+        System.out.printf("buffered : %,d/s, 호출당 평균 %,dns (flush 포함)%n",
+                total * 1_000_000_000L / bufferedNanos, bufferedWaitNanos.get() / total);
+    }
+
+    private void insertMembers() {
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("insert into member (member_id, age, username) values (?, 0, ?)", id, "member" + id);
+        }
+    }
+
+    private long activity(Long memberId) {
+        return jdbcTemplate.queryForObject("select activity_count from member where member_id = ?", Long.class, memberId);
+    }
+
+    private void run(int threads, int perThread, IntTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    task.run(i);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private interface IntTask {
+        void run(int i);
+    }
+}
@@ -0,0 +1,85 @@
+package study.querydsl.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TeamServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TeamService teamService;
+
+    @Autowired
+    TeamNameConsistencyChecker teamNameConsistencyChecker;
+
+    Team teamA;
+    Member member1;
+
+    @BeforeEach
+    public void before(){
+        teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void renameUpdatesDenormalizedTeamName() throws Exception{
+        long updated = teamService.rename(teamA.getId(), "teamC");
+
+        assertThat(updated).isEqualTo(2);
+        Member found = em.find(Member.class, member1.getId());
+        assertThat(found.getTeamName()).isEqualTo("teamC");
+        assertThat(found.getTeam().getName()).isEqualTo("teamC");
+    }
+
+    @Test
+    public void renameDetachesOnlyMembersOfRenamedTeam() throws Exception{
+        Member loaded = em.find(Member.class, member1.getId());
+        Member other = em.createQuery("select m from Member m where m.username = 'member3'", Member.class)
+                .getSingleResult();
+
+        teamService.rename(teamA.getId(), "teamC");
+
+        // 다른 팀 member 는 그대로 영속 상태
+        assertThat(em.contains(other)).isTrue();
+        assertThat(em.contains(loaded)).isFalse();
+        assertThat(em.find(Member.class, member1.getId()).getTeamName()).isEqualTo("teamC");
+    }
+
+    @Test
+    public void repairDriftedTeamName() throws Exception{
+        //rename 을 안 거치고 team.name 만 바꿈
+        em.createQuery("update Team t set t.name = :name where t.id = :id")
+                .setParameter("name", "teamZ")
+                .setParameter("id", teamA.getId())
+                .executeUpdate();
+
+        long repaired = teamNameConsistencyChecker.repair();
+        em.clear();
+
+        assertThat(repaired).isEqualTo(2);
+        assertThat(em.find(Member.class, member1.getId()).getTeamName()).isEqualTo("teamZ");
+        assertThat(teamNameConsistencyChecker.repair()).isZero();
+    }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import study.querydsl.repository.support.QueryDeadline;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.*;
+
+class QueryDeadlineCallableInterceptorTest {
+
+    QueryDeadlineCallableInterceptor interceptor = new QueryDeadlineCallableInterceptor();
+
+    @AfterEach
+    public void after(){
+        QueryDeadline.clear();
+    }
+
+    @Test
+    public void deadlineMovesToCallableThread() throws Exception{
+        ServletWebRequest request = request(QueryDeadline.start(3000));
+        QueryDeadline.clear();
+        Callable<Object> task = () -> null;
+
+        interceptor.preProcess(request, task);
+        assertThat(QueryDeadline.timeoutSeconds()).isEqualTo(3);
+
+        interceptor.postProcess(request, task, null);
+        assertThat(QueryDeadline.timeoutSeconds()).isNull();
+    }
+
+    @Test
+    public void cancelOnClientDisconnect() throws Exception{
+        QueryDeadline.Scope scope = QueryDeadline.start(3000);
+        ServletWebRequest request = request(scope);
+
+        interceptor.handleError(request, () -> null, new IOException("Broken pipe"));
+
+        assertThat(scope.isCancelled()).isTrue();
+        assertThatThrownBy(QueryDeadline::timeoutSeconds).isInstanceOf(QueryTimeoutException.class);
+    }
+
+    private ServletWebRequest request(QueryDeadline.Scope scope) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/members");
+        request.setAttribute(RequestDeadlineFilter.SCOPE_ATTRIBUTE, scope);
+        return new ServletWebRequest(request);
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import study.querydsl.repository.support.QueryDeadline;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RequestDeadlineFilterTest {
+
+    RequestDeadlineProperties properties = new RequestDeadlineProperties();
+    RequestDeadlineFilter filter = new RequestDeadlineFilter(properties);
+
+    @Test
+    public void timeoutFromHeader() throws Exception{
+        assertThat(filter.timeoutMillis(request(null))).isEqualTo(5000);
+        assertThat(filter.timeoutMillis(request("1200"))).isEqualTo(1200);
+        assertThat(filter.timeoutMillis(request("999999"))).isEqualTo(30000);
+        assertThat(filter.timeoutMillis(request("abc"))).isEqualTo(5000);
+        assertThat(filter.timeoutMillis(request("-1"))).isEqualTo(5000);
+    }
+
+    @Test
+    public void deadlineOnlyDuringRequest() throws Exception{
+        Integer[] during = new Integer[1];
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                during[0] = QueryDeadline.timeoutSeconds();
+            }
+        });
+
+        MockHttpServletRequest request = request("3000");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(during[0]).isEqualTo(3);
+        assertThat(QueryDeadline.timeoutSeconds()).isNull();
+        //Callable 핸들러 스레드로 넘길 수 있게 요청 속성에 남는다
+        assertThat(request.getAttribute(RequestDeadlineFilter.SCOPE_ATTRIBUTE)).isInstanceOf(QueryDeadline.Scope.class);
+    }
+
+    private MockHttpServletRequest request(String timeout) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/members");
+        if (timeout != null) {
+            request.addHeader(properties.getHeader(), timeout);
+        }
+        return request;
+    }
+}